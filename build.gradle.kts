@@ -39,6 +39,13 @@ sourceSets {
             exclude("*.cache/")
         }
     }
+
+    // Benchmarks, run them with `./gradlew jmh` (pass JMH options with -Pjmh="...")
+    create("jmh") {
+        val main = sourceSets.main.get()
+        compileClasspath += main.output + main.compileClasspath
+        runtimeClasspath += main.output + main.runtimeClasspath
+    }
 }
 
 repositories {
@@ -146,6 +153,18 @@ dependencies {
 
     // Pehkui
     modApi("maven.modrinth:pehkui:3.8.3+1.20.6-neoforge")
+
+    // JMH
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:${prop("jmh_version")}")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:${prop("jmh_version")}")
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    findProperty("jmh")?.let { args(it.toString().split(" ")) }
 }
 
 tasks.withType<ProcessResources>().configureEach {
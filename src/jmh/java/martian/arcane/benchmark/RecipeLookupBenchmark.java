@@ -0,0 +1,118 @@
+package martian.arcane.benchmark;
+
+import martian.arcane.api.recipe.BlockIngredient;
+import martian.arcane.api.recipe.RecipeIndexes;
+import martian.arcane.api.recipe.RecipeOutput;
+import martian.arcane.common.recipe.*;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.NonNullList;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times a successful lookup through each recipe type's {@code getRecipeFor} against synthetic recipe sets. Every
+ * recipe uses vanilla items in turn, and the lookups target the last recipe added, which is the worst case for a
+ * linear scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeLookupBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int recipes;
+
+    private final SpellRecipeType spellType = new SpellRecipeType();
+    private RecipeManager manager;
+
+    private ItemStack inputStack;
+    private ItemStack otherStack;
+    private RecipeAuraInfusion.Container infusionContainer;
+    private SimpleContainer mixingContainer;
+    private BlockState cauldron;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        List<Item> items = BuiltInRegistries.ITEM.stream().filter(it -> it != Items.AIR).toList();
+        List<RecipeHolder<?>> holders = new ArrayList<>();
+        Item input = Items.AIR, other = Items.AIR;
+        for (int i = 0; i < recipes; i++) {
+            input = items.get(i % items.size());
+            other = items.get((i * 31 + 7) % items.size());
+
+            NonNullList<RecipeOutput> results = NonNullList.create();
+            results.add(new RecipeOutput(other, 1, 1F));
+
+            NonNullList<Ingredient> mixingInputs = NonNullList.create();
+            mixingInputs.add(Ingredient.of(input));
+            mixingInputs.add(Ingredient.of(other));
+
+            holders.add(new RecipeHolder<>(id("spell", i), new SpellRecipe(spellType, Ingredient.of(input), results)));
+            holders.add(new RecipeHolder<>(id("infusion", i), new RecipeAuraInfusion(Ingredient.of(input), results, 1)));
+            holders.add(new RecipeHolder<>(id("pedestal", i), new RecipePedestalCrafting(Ingredient.of(input), Ingredient.of(other), true, results)));
+            holders.add(new RecipeHolder<>(id("mixing", i), new RecipeCauldronMixing(mixingInputs, results, new BlockIngredient(Blocks.WATER_CAULDRON), Optional.empty(), 0)));
+        }
+
+        manager = new RecipeManager(RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY));
+        manager.replaceRecipes(holders);
+
+        inputStack = new ItemStack(input);
+        otherStack = new ItemStack(other);
+        infusionContainer = new RecipeAuraInfusion.Container(inputStack, Integer.MAX_VALUE);
+        mixingContainer = new SimpleContainer(inputStack.copy(), otherStack.copy());
+        cauldron = Blocks.WATER_CAULDRON.defaultBlockState();
+
+        // Start every index building, then wait for them so only indexed lookups are measured
+        spellRecipe();
+        auraInfusion();
+        pedestalCrafting();
+        cauldronMixing();
+        RecipeIndexes.await(manager);
+    }
+
+    private static ResourceLocation id(String type, int i) {
+        return new ResourceLocation("arcane_benchmark", type + "/" + i);
+    }
+
+    @Benchmark
+    public Object spellRecipe() {
+        return SpellRecipe.getRecipeFor(spellType, manager, inputStack);
+    }
+
+    @Benchmark
+    public Object auraInfusion() {
+        return RecipeAuraInfusion.getRecipeFor(manager, infusionContainer, false);
+    }
+
+    @Benchmark
+    public Object pedestalCrafting() {
+        return RecipePedestalCrafting.getRecipeFor(manager, inputStack, otherStack);
+    }
+
+    @Benchmark
+    public Object cauldronMixing() {
+        return RecipeCauldronMixing.findMatch(manager, mixingContainer, cauldron);
+    }
+}
@@ -1,5 +1,6 @@
 package martian.arcane;
 
+import martian.arcane.api.spell.AbstractSpell;
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
@@ -149,7 +150,13 @@ public class ArcaneConfig {
                     .defineInRange("misc.chainwandSpellCapacity", 4, 1, Integer.MAX_VALUE),
             MYSTICAL_CHAINWAND_SPELL_CAPACITY = BUILDER
                     .comment("Maximum spells a Mystical Chainwands can hold. Changing this will not change existing Chainbooks.")
-                    .defineInRange("misc.chainwandSpellCapacity", 6, 1, Integer.MAX_VALUE);
+                    .defineInRange("misc.chainwandSpellCapacity", 6, 1, Integer.MAX_VALUE),
+            SPELL_CIRCLE_MAX_AREA_RADIUS = BUILDER
+                    .comment("The largest radius Spell Circles can be configured to craft over in area mode. Use 0 to disable area mode.")
+                    .defineInRange("misc.spellCircleMaxAreaRadius", 3, 0, 8),
+            SPELL_BLOCKS_PER_TICK = BUILDER
+                    .comment("The most blocks spells can break or place in a level per tick. Larger casts carry on over the following ticks.")
+                    .defineInRange("misc.spellBlocksPerTick", 64, 1, Integer.MAX_VALUE);
 
 
     // Spec
@@ -192,7 +199,9 @@ public class ArcaneConfig {
             enderpackUsageAuraCost,
             wandbookSpellCapacity,
             chainwandSpellCapacity,
-            mysticalChainwandSpellCapacity;
+            mysticalChainwandSpellCapacity,
+            spellCircleMaxAreaRadius,
+            spellBlocksPerTick;
     public static double
             auraConnectorMaxDistance,
             copperTierMaxAuraMultiplier,
@@ -207,6 +216,7 @@ public class ArcaneConfig {
         auraLossTicks = AURA_LOSS_TICKS.get();
         auraConnectorMaxDistance = AURA_CONNECTOR_MAX_DISTANCE.get();
         disabledSpells = DISABLED_SPELLS.get().stream().map(ResourceLocation::new).collect(Collectors.toUnmodifiableSet());
+        AbstractSpell.updateDisabledSpells();
 
         basicWandAuraCapacity = BASIC_WAND_AURA_CAPACITY.get();
         advancedWandAuraCapacity = ADVANCED_WAND_AURA_CAPACITY.get();
@@ -250,5 +260,7 @@ public class ArcaneConfig {
         wandbookSpellCapacity = WANDBOOK_SPELL_CAPACITY.get();
         chainwandSpellCapacity = CHAINWAND_SPELL_CAPACITY.get();
         mysticalChainwandSpellCapacity = MYSTICAL_CHAINWAND_SPELL_CAPACITY.get();
+        spellCircleMaxAreaRadius = SPELL_CIRCLE_MAX_AREA_RADIUS.get();
+        spellBlocksPerTick = SPELL_BLOCKS_PER_TICK.get();
     }
 }
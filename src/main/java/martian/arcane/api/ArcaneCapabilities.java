@@ -0,0 +1,17 @@
+package martian.arcane.api;
+
+import martian.arcane.ArcaneMod;
+import martian.arcane.api.aura.IMutableAuraStorage;
+import net.minecraft.core.Direction;
+import net.neoforged.neoforge.capabilities.BlockCapability;
+import org.jetbrains.annotations.Nullable;
+
+public class ArcaneCapabilities {
+    /**
+     * Aura storage of a block. The context is the side being accessed, or null when the side does not matter.
+     * <p>
+     * Blocks from other mods can provide this capability to interact with connectors and bottles without extending
+     * {@link martian.arcane.api.block.entity.AbstractAuraBlockEntity}.
+     */
+    public static final BlockCapability<IMutableAuraStorage, @Nullable Direction> AURA = BlockCapability.createSided(ArcaneMod.id("aura"), IMutableAuraStorage.class);
+}
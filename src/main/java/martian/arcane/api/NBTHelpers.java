@@ -17,6 +17,10 @@ public final class NBTHelpers {
     public static final String KEY_TICKS_TO_NEXT = ArcaneMod.MODID + ".ticksToNext";
     public static final String KEY_CAST_RATE = ArcaneMod.MODID + ".castRate";
     public static final String KEY_HAS_SIGNAL = ArcaneMod.MODID + ".hasSignal";
+    public static final String KEY_LAST_ACTIVE = ArcaneMod.MODID + ".lastActive";
+    public static final String KEY_AURA_LOSS_STEPS = ArcaneMod.MODID + ".auraLossSteps";
+    public static final String KEY_GENERATION_RATE = ArcaneMod.MODID + ".generationRate";
+    public static final String KEY_AREA_RADIUS = ArcaneMod.MODID + ".areaRadius";
 
     public static void putBlockPos(CompoundTag nbt, String key, BlockPos pos) {
         nbt.putIntArray(key, new int[]{pos.getX(), pos.getY(), pos.getZ()});
@@ -76,6 +76,21 @@ public class Raycasting {
         return traversedBlocks;
     }
 
+    // Every block the straight line between the centers of two blocks passes through, excluding the two blocks
+    // themselves. Unlike raycastAndGetBlockPositions, this does not read the level.
+    public static List<BlockPos> getBlockPositionsBetween(BlockPos from, BlockPos to) {
+        List<BlockPos> traversedBlocks = new ArrayList<>();
+        BlockGetter.traverseBlocks(from.getCenter(), to.getCenter(), traversedBlocks,
+                (list, pos) -> {
+                    if (!pos.equals(from) && !pos.equals(to))
+                        list.add(pos.immutable());
+                    return null;
+                },
+                list -> null
+        );
+        return traversedBlocks;
+    }
+
     public static void traverseBetweenPoints(Vec3 from, Vec3 to, double step, double endRange, Function<Vec3, Boolean> tester) {
         if (from.equals(to))
             return;
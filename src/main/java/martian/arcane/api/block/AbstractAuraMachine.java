@@ -2,14 +2,15 @@ package martian.arcane.api.block;
 
 import martian.arcane.api.block.entity.AbstractAuraBlockEntity;
 import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.entity.BlockEntityTicker;
-import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.function.BiFunction;
@@ -19,14 +20,6 @@ public abstract class AbstractAuraMachine extends BlockWithEntity {
         super(properties, beSupplier);
     }
 
-    @Override
-    @ParametersAreNonnullByDefault
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
-        return !level.isClientSide ?
-                (inLevel, inPos, inState, inEntity) -> AbstractAuraBlockEntity.tickForAuraLoss(inLevel, (AbstractAuraBlockEntity) inEntity) :
-                null;
-    }
-
     @Override
     public boolean hasAnalogOutputSignal(@NotNull BlockState state) {
         return true;
@@ -40,6 +33,15 @@ public abstract class AbstractAuraMachine extends BlockWithEntity {
         return 0;
     }
 
+    @Override
+    @ParametersAreNonnullByDefault
+    public void setPlacedBy(Level level, BlockPos pos, BlockState state, @Nullable LivingEntity placer, ItemStack stack) {
+        super.setPlacedBy(level, pos, state, placer, stack);
+        // Afterward the signal is only re-read when a neighbour changes
+        if (!level.isClientSide && level.getBlockEntity(pos) instanceof AbstractAuraBlockEntity machine && machine.updateSignal())
+            BlockHelpers.sync(machine);
+    }
+
     @Override
     @ParametersAreNonnullByDefault
     public void neighborChanged(BlockState state, Level level, BlockPos pos, Block fromBlock, BlockPos fromPos, boolean isMoving) {
@@ -47,9 +49,8 @@ public abstract class AbstractAuraMachine extends BlockWithEntity {
         if (
             !level.isClientSide &&
             level.getBlockEntity(pos) instanceof AbstractAuraBlockEntity machine &&
-            machine.hasSignal != level.hasNeighborSignal(pos)
+            machine.updateSignal()
         ) {
-            machine.hasSignal = !machine.hasSignal;
             level.updateNeighbourForOutputSignal(pos, this);
             BlockHelpers.sync(machine);
         }
@@ -0,0 +1,228 @@
+package martian.arcane.api.block;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.LevelEvent;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.gameevent.GameEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sets or destroys many blocks at once, for spells which affect a whole area.
+ * <p>
+ * Changes are grouped by chunk section. Blocks are set, and the shapes of the blocks around them updated, without
+ * notifying clients or neighbours. Each section that changed is then sent to the players watching it as one
+ * {@link ClientboundSectionBlocksUpdatePacket}, and finally each block just outside the changed area gets a single
+ * neighbour update, however many changed blocks it touches. Destroy effects are capped per batch and each section only
+ * emits one game event. Lighting is left to the light engine, which already queues the changes and processes them
+ * together.
+ */
+public final class BlockMutationBatch {
+    // Particles and sounds are only played for this many destroyed blocks per batch
+    private static final int MAX_DESTROY_EFFECTS = 8;
+
+    private final ServerLevel level;
+    private final Long2ObjectLinkedOpenHashMap<List<Change>> changesBySection = new Long2ObjectLinkedOpenHashMap<>();
+
+    public BlockMutationBatch(ServerLevel level) {
+        this.level = level;
+    }
+
+    public void set(BlockPos pos, BlockState state) {
+        set(pos, state, null);
+    }
+
+    /**
+     * @param onRejected Run by {@link #apply()} if the block could not be set, including when an earlier change in the
+     *                   batch already changed the same position.
+     */
+    public void set(BlockPos pos, BlockState state, @Nullable Runnable onRejected) {
+        add(new Change(pos.immutable(), state, false, false, null, onRejected));
+    }
+
+    /**
+     * Replaces the block with air (or the fluid it was holding), like {@link ServerLevel#destroyBlock}.
+     */
+    public void destroy(BlockPos pos, boolean drop, @Nullable Entity breaker) {
+        destroy(pos, drop, breaker, null);
+    }
+
+    /**
+     * @param onRejected Run by {@link #apply()} if there was nothing left to destroy, including when an earlier change
+     *                   in the batch already changed the same position.
+     */
+    public void destroy(BlockPos pos, boolean drop, @Nullable Entity breaker, @Nullable Runnable onRejected) {
+        add(new Change(pos.immutable(), null, true, drop, breaker, onRejected));
+    }
+
+    private void add(Change change) {
+        changesBySection.computeIfAbsent(SectionPos.asLong(change.pos), it -> new ArrayList<>()).add(change);
+    }
+
+    public boolean isEmpty() {
+        return changesBySection.isEmpty();
+    }
+
+    /**
+     * Applies every change and clears the batch.
+     * @return How many blocks were changed.
+     */
+    public int apply() {
+        LongSet changed = new LongOpenHashSet();
+        List<BlockPos> changedPositions = new ArrayList<>();
+        List<BlockState> oldStates = new ArrayList<>();
+        Long2ObjectLinkedOpenHashMap<ShortSet> dirtySections = new Long2ObjectLinkedOpenHashMap<>();
+        int destroyEffects = 0;
+
+        for (var entry : changesBySection.long2ObjectEntrySet()) {
+            SectionPos sectionPos = SectionPos.of(entry.getLongKey());
+            LevelChunk chunk = level.getChunk(sectionPos.x(), sectionPos.z());
+            boolean sentGameEvent = false;
+
+            for (Change change : entry.getValue()) {
+                // Only the first change to a position goes through, later ones were checked against the old block
+                if (changed.contains(change.pos.asLong())) {
+                    change.reject();
+                    continue;
+                }
+
+                BlockState old = chunk.getBlockState(change.pos);
+                if (change.destroy && old.isAir()) {
+                    change.reject();
+                    continue;
+                }
+
+                BlockState state = change.destroy ? old.getFluidState().createLegacyBlock() : change.state;
+                BlockEntity be = change.destroy && change.drop && old.hasBlockEntity() ? chunk.getBlockEntity(change.pos) : null;
+                if (!level.setBlock(change.pos, state, Block.UPDATE_KNOWN_SHAPE)) {
+                    change.reject();
+                    continue;
+                }
+
+                if (change.destroy) {
+                    if (change.drop)
+                        Block.dropResources(old, level, change.pos, be, change.breaker, ItemStack.EMPTY);
+                    if (destroyEffects++ < MAX_DESTROY_EFFECTS)
+                        level.levelEvent(LevelEvent.PARTICLES_DESTROY_BLOCK, change.pos, Block.getId(old));
+                }
+
+                if (!sentGameEvent) {
+                    level.gameEvent(change.destroy ? GameEvent.BLOCK_DESTROY : GameEvent.BLOCK_PLACE, change.pos, GameEvent.Context.of(change.breaker, change.destroy ? old : state));
+                    sentGameEvent = true;
+                }
+
+                changed.add(change.pos.asLong());
+                changedPositions.add(change.pos);
+                oldStates.add(old);
+                markDirty(dirtySections, change.pos);
+            }
+        }
+
+        changesBySection.clear();
+        updateShapes(changed, changedPositions, oldStates, dirtySections);
+        for (var entry : dirtySections.long2ObjectEntrySet())
+            sendSection(entry.getLongKey(), entry.getValue());
+        updateNeighbours(changed, changedPositions);
+        return changedPositions.size();
+    }
+
+    private static void markDirty(Long2ObjectLinkedOpenHashMap<ShortSet> dirtySections, BlockPos pos) {
+        dirtySections.computeIfAbsent(SectionPos.asLong(pos), it -> new ShortOpenHashSet()).add(SectionPos.sectionRelativePos(pos));
+    }
+
+    // Shapes still need updating one block at a time so that placed blocks connect, but without notifying clients. The
+    // neighbours don't pass the update any further, so only the blocks around the area can change, and they are compared
+    // before and after so that any that changed go out with the section packets.
+    private void updateShapes(LongSet changed, List<BlockPos> positions, List<BlockState> oldStates, Long2ObjectLinkedOpenHashMap<ShortSet> dirtySections) {
+        Long2ObjectOpenHashMap<BlockState> around = new Long2ObjectOpenHashMap<>();
+        for (BlockPos pos : positions) {
+            for (BlockPos neighbour : BlockPos.betweenClosed(pos.offset(-1, -1, -1), pos.offset(1, 1, 1))) {
+                long key = neighbour.asLong();
+                if (!changed.contains(key) && !around.containsKey(key))
+                    around.put(key, level.getBlockState(neighbour));
+            }
+        }
+
+        for (int i = 0; i < positions.size(); i++) {
+            BlockPos pos = positions.get(i);
+            BlockState state = level.getBlockState(pos);
+            oldStates.get(i).updateIndirectNeighbourShapes(level, pos, Block.UPDATE_KNOWN_SHAPE);
+            state.updateNeighbourShapes(level, pos, Block.UPDATE_KNOWN_SHAPE);
+            state.updateIndirectNeighbourShapes(level, pos, Block.UPDATE_KNOWN_SHAPE);
+        }
+
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        around.long2ObjectEntrySet().forEach(entry -> {
+            cursor.set(entry.getLongKey());
+            if (level.getBlockState(cursor) != entry.getValue())
+                markDirty(dirtySections, cursor);
+        });
+    }
+
+    private void sendSection(long section, ShortSet positions) {
+        SectionPos sectionPos = SectionPos.of(section);
+        List<ServerPlayer> players = level.getChunkSource().chunkMap.getPlayers(sectionPos.chunk(), false);
+        if (players.isEmpty())
+            return;
+
+        LevelChunk chunk = level.getChunk(sectionPos.x(), sectionPos.z());
+        var packet = new ClientboundSectionBlocksUpdatePacket(sectionPos, positions, chunk.getSection(level.getSectionIndexFromSectionY(sectionPos.y())));
+        for (ServerPlayer player : players)
+            player.connection.send(packet);
+
+        // Block entities aren't part of the section packet
+        for (short relative : positions) {
+            BlockEntity be = chunk.getBlockEntity(sectionPos.relativeToBlockPos(relative));
+            if (be != null) {
+                var bePacket = be.getUpdatePacket();
+                if (bePacket != null)
+                    for (ServerPlayer player : players)
+                        player.connection.send(bePacket);
+            }
+        }
+    }
+
+    private void updateNeighbours(LongSet changed, List<BlockPos> positions) {
+        // Each block outside the area is only told about the first changed block next to it
+        LongLinkedOpenHashSet notified = new LongLinkedOpenHashSet();
+        BlockPos.MutableBlockPos neighbour = new BlockPos.MutableBlockPos();
+        for (BlockPos pos : positions) {
+            Block block = level.getBlockState(pos).getBlock();
+            for (Direction direction : Direction.values()) {
+                neighbour.setWithOffset(pos, direction);
+                long key = neighbour.asLong();
+                if (!changed.contains(key) && notified.add(key))
+                    level.neighborChanged(neighbour.immutable(), block, pos);
+            }
+
+            // Comparators reading through a block next to the area aren't direct neighbours
+            level.updateNeighbourForOutputSignal(pos, block);
+        }
+    }
+
+    private record Change(BlockPos pos, @Nullable BlockState state, boolean destroy, boolean drop, @Nullable Entity breaker, @Nullable Runnable onRejected) {
+        void reject() {
+            if (onRejected != null)
+                onRejected.run();
+        }
+    }
+}
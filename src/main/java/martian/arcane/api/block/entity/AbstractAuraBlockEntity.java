@@ -4,11 +4,12 @@ import martian.arcane.ArcaneConfig;
 import martian.arcane.api.machine.IMachineTierable;
 import martian.arcane.api.machine.MachineTier;
 import martian.arcane.api.NBTHelpers;
+import martian.arcane.api.aura.AuraRecord;
 import martian.arcane.api.aura.AuraStorage;
 import martian.arcane.api.aura.IAuraStorage;
 import martian.arcane.api.aura.IMutableAuraStorage;
 import martian.arcane.common.ArcaneContent;
-import martian.arcane.common.networking.s2c.S2CSyncAuraAttachment;
+import martian.arcane.common.networking.AuraSyncQueue;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
@@ -17,14 +18,16 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
-import net.minecraft.world.level.Level;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.TickTask;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.neoforged.neoforge.common.util.Lazy;
-import net.neoforged.neoforge.network.PacketDistributor;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.function.Consumer;
@@ -36,10 +39,19 @@ import java.util.function.Function;
  */
 public abstract class AbstractAuraBlockEntity extends BlockEntity implements IAuraometerOutput, IMutableAuraStorage, IMachineTierable {
     protected final Lazy<AuraStorage> auraStorageCache = Lazy.of(() -> getData(ArcaneContent.DA_AURA));
+    public static final long NEVER = Long.MAX_VALUE;
+
     public final int defaultMaxAura;
-    public int ticksUntilIdle = ArcaneConfig.ticksUntilConsideredIdle;
-    public int ticksUntilNextAuraLoss = ArcaneConfig.auraLossTicks;
-    public boolean hasSignal = false;
+    // Whether this machine is receiving a redstone signal, only updated by updateSignal
+    private boolean hasSignal = false;
+    // The aura storage clients were last sent, used by AuraSyncQueue to skip unchanged machines
+    @ApiStatus.Internal
+    public @Nullable AuraRecord lastSyncedAura = null;
+    // The game time this machine is currently scheduled to wake at in the MachineScheduler
+    long nextWakeTime = NEVER;
+    // Aura loss is settled lazily from these whenever the storage is accessed, see settleAuraLoss
+    private long lastActiveTime = -1;
+    private long auraLossSteps = 0;
 
     public AbstractAuraBlockEntity(int maxAura, boolean extractable, boolean receivable, BlockEntityType<?> type, BlockPos pos, BlockState state) {
         super(type, pos, state);
@@ -51,16 +63,11 @@ public abstract class AbstractAuraBlockEntity extends BlockEntity implements IAu
     @Override
     @NotNull
     public CompoundTag getUpdateTag(HolderLookup.@NotNull Provider registries) {
-        CompoundTag tag = saveWithFullMetadata(registries);
-        tag.putBoolean(NBTHelpers.KEY_HAS_SIGNAL, hasSignal);
-        return tag;
+        return saveWithFullMetadata(registries);
     }
 
     @Override
     public Packet<ClientGamePacketListener> getUpdatePacket() {
-        assert this.level != null;
-        CompoundTag tag = getUpdateTag(this.level.registryAccess());
-        hasSignal = tag.getBoolean(NBTHelpers.KEY_HAS_SIGNAL);
         return ClientboundBlockEntityDataPacket.create(this);
     }
 
@@ -80,6 +87,87 @@ public abstract class AbstractAuraBlockEntity extends BlockEntity implements IAu
         return text;
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        // Newly placed machines start out active
+        if (lastActiveTime == -1)
+            setNotIdle(this);
+        scheduleNextWake();
+        if (level instanceof ServerLevel serverLevel)
+            updateSignalOnLoad(serverLevel);
+    }
+
+    // Machines made without a neighbour update (commands, structures, worlds from before signals were saved) would
+    // otherwise keep whatever signal they were saved with
+    private void updateSignalOnLoad(ServerLevel level) {
+        BlockPos pos = getBlockPos();
+        if (level.hasChunksAt(pos.offset(-2, -2, -2), pos.offset(2, 2, 2))) {
+            updateSignal();
+        } else {
+            MinecraftServer server = level.getServer();
+            server.tell(new TickTask(server.getTickCount(), () -> {
+                if (!isRemoved())
+                    updateSignal();
+            }));
+        }
+    }
+
+    @Override
+    public void saveAdditional(@NotNull CompoundTag nbt, HolderLookup.@NotNull Provider provider) {
+        super.saveAdditional(nbt, provider);
+        nbt.putLong(NBTHelpers.KEY_LAST_ACTIVE, lastActiveTime);
+        nbt.putLong(NBTHelpers.KEY_AURA_LOSS_STEPS, auraLossSteps);
+        nbt.putBoolean(NBTHelpers.KEY_HAS_SIGNAL, hasSignal);
+    }
+
+    @Override
+    public void loadAdditional(@NotNull CompoundTag nbt, HolderLookup.@NotNull Provider provider) {
+        super.loadAdditional(nbt, provider);
+        lastActiveTime = nbt.contains(NBTHelpers.KEY_LAST_ACTIVE) ? nbt.getLong(NBTHelpers.KEY_LAST_ACTIVE) : -1;
+        auraLossSteps = nbt.getLong(NBTHelpers.KEY_AURA_LOSS_STEPS);
+        hasSignal = nbt.getBoolean(NBTHelpers.KEY_HAS_SIGNAL);
+    }
+
+    // Redstone
+    /**
+     * Re-reads the redstone signal going into this machine. This should only be called when the machine loads or a
+     * neighbour changes (see {@link martian.arcane.api.block.AbstractAuraMachine#neighborChanged}), everything else
+     * reads {@link #hasSignal()}.
+     * @return If the signal changed.
+     */
+    public boolean updateSignal() {
+        if (level == null || level.hasNeighborSignal(getBlockPos()) == hasSignal)
+            return false;
+
+        hasSignal = !hasSignal;
+        setChanged();
+        if (isRedstoneControlled()) {
+            if (hasSignal)
+                // Anything still in the scheduler for this machine is skipped when it comes up
+                nextWakeTime = NEVER;
+            else
+                scheduleNextWake();
+        }
+        return true;
+    }
+
+    /**
+     * @return If this machine stops working while it has a redstone signal. Disabled machines are not woken by the
+     * MachineScheduler at all until the signal goes away.
+     */
+    protected boolean isRedstoneControlled() {
+        return false;
+    }
+
+    public boolean hasSignal() {
+        return hasSignal;
+    }
+
+    public boolean isDisabledByRedstone() {
+        return hasSignal && isRedstoneControlled();
+    }
+
     // Default implementations for IMachineTierable
     public MachineTier getTier() {
         return getData(ArcaneContent.DA_MACHINE_TIER);
@@ -103,7 +191,9 @@ public abstract class AbstractAuraBlockEntity extends BlockEntity implements IAu
     @Deprecated
     @ApiStatus.Internal
     public AuraStorage getAuraStorage() {
-        return auraStorageCache.get();
+        AuraStorage storage = auraStorageCache.get();
+        settleAuraLoss(storage);
+        return storage;
     }
 
     @ApiStatus.Internal
@@ -207,6 +297,7 @@ public abstract class AbstractAuraBlockEntity extends BlockEntity implements IAu
         if (level != null)
             level.getChunk(getBlockPos()).setUnsaved(true);
         syncWithClients();
+        scheduleNextWake();
     }
 
     @ApiStatus.Internal
@@ -215,23 +306,97 @@ public abstract class AbstractAuraBlockEntity extends BlockEntity implements IAu
     }
 
     public static void setNotIdle(BlockEntity entity) {
-        if (entity instanceof AbstractAuraBlockEntity machine)
-            machine.ticksUntilIdle = ArcaneConfig.ticksUntilConsideredIdle;
+        if (entity instanceof AbstractAuraBlockEntity machine && machine.level != null) {
+            // Anything lost before now still needs to be applied
+            machine.settleAuraLoss(machine.auraStorageCache.get());
+            machine.lastActiveTime = machine.level.getGameTime();
+            machine.auraLossSteps = 0;
+        }
+    }
+
+    /**
+     * Applies the aura loss accumulated since this machine was last active. Once a machine has been idle for
+     * ticksUntilConsideredIdle ticks it loses its tier's aura loss every auraLossTicks ticks, so the total loss only
+     * depends on the current game time and can be computed in one step, no matter how long ago the last activity was.
+     */
+    private void settleAuraLoss(AuraStorage storage) {
+        if (level == null || level.isClientSide || lastActiveTime == -1 || !hasAuraLoss() || isAuraLossDisabled())
+            return;
+
+        long idleTicks = level.getGameTime() - lastActiveTime - ArcaneConfig.ticksUntilConsideredIdle;
+        if (idleTicks < ArcaneConfig.auraLossTicks)
+            return;
+
+        long steps = idleTicks / ArcaneConfig.auraLossTicks;
+        long newSteps = steps - auraLossSteps;
+        if (newSteps <= 0)
+            return;
+        auraLossSteps = steps;
+
+        if (storage.getAura() <= 0)
+            return;
+
+        storage.removeAura((int) Math.min(newSteps * getTier().auraLoss(), Integer.MAX_VALUE));
+        setChanged();
+        syncWithClients();
     }
 
     @ApiStatus.Internal
     public void syncWithClients() {
         if (level != null && !level.isClientSide)
-            PacketDistributor.sendToAllPlayers(new S2CSyncAuraAttachment(getAuraStorage().freeze(), getBlockPos()));
+            AuraSyncQueue.markDirty(this);
     }
 
-    public static void tickForAuraLoss(Level level, AbstractAuraBlockEntity machine) {
-        if (!level.isClientSide && !isAuraLossDisabled() && --machine.ticksUntilIdle <= 0 && --machine.ticksUntilNextAuraLoss <= 0) {
-            machine.removeAuraNoUpdate(machine.getTier().auraLoss());
-            machine.ticksUntilNextAuraLoss = ArcaneConfig.auraLossTicks;
+    // Scheduling
+    /**
+     * Asks the MachineScheduler to wake this machine at the given game time. If the machine is already scheduled to
+     * wake earlier than that, this does nothing; {@link #getNextWakeTime()} is asked again after every wake-up.
+     */
+    public void wakeAt(long gameTime) {
+        if (level instanceof ServerLevel serverLevel && gameTime < nextWakeTime && !isDisabledByRedstone()) {
+            nextWakeTime = gameTime;
+            MachineScheduler.get(serverLevel).schedule(this, gameTime);
         }
     }
 
+    public void scheduleNextWake() {
+        wakeAt(getNextWakeTime());
+    }
+
+    /**
+     * @return The next game time this machine has something to do at, or {@link #NEVER}. Subclasses with their own
+     * timers should return the earliest of their timers and super.getNextWakeTime().
+     */
+    protected long getNextWakeTime() {
+        int lossPerStep = getTier().auraLoss();
+        if (lastActiveTime == -1 || !hasAuraLoss() || isAuraLossDisabled() || lossPerStep <= 0 || getAura() <= 0)
+            return NEVER;
+
+        // Aura loss does not need any wake-ups, but waking once the storage would be drained makes sure clients
+        // eventually see it, even if nothing touches the machine in the meantime.
+        long stepsUntilDrained = auraLossSteps + (getAura() + lossPerStep - 1) / lossPerStep;
+        return lastActiveTime + ArcaneConfig.ticksUntilConsideredIdle + stepsUntilDrained * ArcaneConfig.auraLossTicks;
+    }
+
+    /**
+     * Called by the MachineScheduler on the server. Subclasses should check which of their timers are due, since a
+     * machine is only woken for the earliest of them.
+     */
+    protected void onWake(ServerLevel level, long gameTime) {
+        // Reading the storage settles any pending aura loss
+        getAuraStorage();
+    }
+
+    void wake(ServerLevel level, long gameTime) {
+        nextWakeTime = NEVER;
+        onWake(level, gameTime);
+        scheduleNextWake();
+    }
+
+    protected boolean hasAuraLoss() {
+        return true;
+    }
+
     public static boolean isAuraLossDisabled() {
         return ArcaneConfig.ticksUntilConsideredIdle == -1;
     }
@@ -18,7 +18,6 @@ import org.jetbrains.annotations.NotNull;
 
 public class AbstractAuraBlockEntityWithSingleItem extends AbstractAuraBlockEntity implements Container, IItemHandlerModifiable {
     protected ItemStack stack = ItemStack.EMPTY;
-    public boolean hasSignal = false;
 
     public AbstractAuraBlockEntityWithSingleItem(int maxAura, boolean extractable, boolean receivable, BlockEntityType<?> type, BlockPos pos, BlockState state) {
         super(maxAura, extractable, receivable, type, pos, state);
@@ -32,6 +31,13 @@ public class AbstractAuraBlockEntityWithSingleItem extends AbstractAuraBlockEnti
         this.stack = stack;
         setChanged();
         BlockHelpers.sync(this);
+        onItemChanged();
+    }
+
+    /**
+     * Called whenever the held stack is replaced or taken from through this block entity.
+     */
+    protected void onItemChanged() {
     }
 
     // Container implementation
@@ -65,6 +71,7 @@ public class AbstractAuraBlockEntityWithSingleItem extends AbstractAuraBlockEnti
         stack.shrink(amount);
         setChanged();
         BlockHelpers.sync(this);
+        onItemChanged();
         return s;
     }
 
@@ -82,6 +89,7 @@ public class AbstractAuraBlockEntityWithSingleItem extends AbstractAuraBlockEnti
         this.stack = stack;
         setChanged();
         BlockHelpers.sync(this);
+        onItemChanged();
     }
 
     @Override
@@ -103,7 +111,6 @@ public class AbstractAuraBlockEntityWithSingleItem extends AbstractAuraBlockEnti
     @Override
     public void saveAdditional(@NotNull CompoundTag nbt, HolderLookup.@NotNull Provider provider) {
         NBTHelpers.putItemStack(provider, nbt, NBTHelpers.KEY_STACK, stack);
-        nbt.putBoolean(NBTHelpers.KEY_HAS_SIGNAL, hasSignal);
         super.saveAdditional(nbt, provider);
     }
 
@@ -111,7 +118,6 @@ public class AbstractAuraBlockEntityWithSingleItem extends AbstractAuraBlockEnti
     public void loadAdditional(@NotNull CompoundTag nbt, HolderLookup.@NotNull Provider provider) {
         super.loadAdditional(nbt, provider);
         stack = NBTHelpers.getItemStack(provider, nbt, NBTHelpers.KEY_STACK);
-        hasSignal = nbt.getBoolean(NBTHelpers.KEY_HAS_SIGNAL);
     }
 
     @Override
@@ -119,7 +125,6 @@ public class AbstractAuraBlockEntityWithSingleItem extends AbstractAuraBlockEnti
     public CompoundTag getUpdateTag(HolderLookup.@NotNull Provider provider) {
         CompoundTag nbt = super.getUpdateTag(provider);
         NBTHelpers.putItemStack(provider, nbt, NBTHelpers.KEY_STACK, stack);
-        nbt.putBoolean(NBTHelpers.KEY_HAS_SIGNAL, hasSignal);
         return nbt;
     }
 
@@ -128,7 +133,6 @@ public class AbstractAuraBlockEntityWithSingleItem extends AbstractAuraBlockEnti
         assert level != null;
         CompoundTag nbt = getUpdateTag(level.registryAccess());
         stack = NBTHelpers.getItemStack(level.registryAccess(), nbt, NBTHelpers.KEY_STACK);
-        hasSignal = nbt.getBoolean(NBTHelpers.KEY_HAS_SIGNAL);
         return ClientboundBlockEntityDataPacket.create(this);
     }
 
@@ -0,0 +1,134 @@
+package martian.arcane.api.block.entity;
+
+import martian.arcane.ArcaneMod;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A hierarchical timer wheel that wakes aura machines at the game time they asked for, so machines that are only
+ * waiting do not need a block entity ticker at all.
+ * <p>
+ * Machines should use {@link AbstractAuraBlockEntity#wakeAt(long)} rather than scheduling themselves here directly.
+ * Each machine has at most one pending wake-up; anything older that is still in the wheel is skipped when it fires.
+ */
+@EventBusSubscriber(modid = ArcaneMod.MODID)
+public class MachineScheduler {
+    private static final Map<Level, MachineScheduler> SCHEDULERS = new WeakHashMap<>();
+
+    // 4 wheels of 64 slots cover 2^24 ticks (about 9.7 days), anything further out waits in the overflow list.
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int WHEELS = 4;
+    // If the level did not tick for this long, re-bucketing everything is cheaper than stepping through every tick
+    private static final long MAX_CATCH_UP = SLOTS * SLOTS;
+
+    private final ServerLevel level;
+    private final List<List<Entry>> wheels = new ArrayList<>(WHEELS * SLOTS);
+    private List<Entry> overflow = new ArrayList<>();
+    private long currentTime;
+
+    private MachineScheduler(ServerLevel level) {
+        this.level = level;
+        this.currentTime = level.getGameTime();
+        for (int i = 0; i < WHEELS * SLOTS; i++)
+            wheels.add(new ArrayList<>());
+    }
+
+    public static MachineScheduler get(ServerLevel level) {
+        return SCHEDULERS.computeIfAbsent(level, it -> new MachineScheduler((ServerLevel) it));
+    }
+
+    void schedule(AbstractAuraBlockEntity machine, long gameTime) {
+        // Anything due now or in the past runs on the next tick
+        insert(new Entry(machine, gameTime), Math.max(gameTime, currentTime + 1));
+    }
+
+    private void insert(Entry entry, long time) {
+        long delta = time - currentTime;
+        for (int wheel = 0; wheel < WHEELS; wheel++) {
+            if (delta < 1L << (BITS * (wheel + 1))) {
+                slot(wheel, (int) ((time >>> (BITS * wheel)) & MASK)).add(entry);
+                return;
+            }
+        }
+
+        overflow.add(entry);
+    }
+
+    private List<Entry> slot(int wheel, int slot) {
+        return wheels.get(wheel * SLOTS + slot);
+    }
+
+    public void tick() {
+        long now = level.getGameTime();
+        if (now - currentTime > MAX_CATCH_UP)
+            rebucket(now - 1);
+
+        while (currentTime < now)
+            advance(++currentTime);
+    }
+
+    private void advance(long time) {
+        // Move entries from the outer wheels down as their slot comes up
+        for (int wheel = 1; wheel < WHEELS; wheel++) {
+            if ((time & ((1L << (BITS * wheel)) - 1)) != 0)
+                break;
+
+            int index = wheel * SLOTS + (int) ((time >>> (BITS * wheel)) & MASK);
+            List<Entry> cascading = wheels.set(index, new ArrayList<>());
+            cascading.forEach(entry -> insert(entry, Math.max(entry.time, time)));
+
+            if (wheel == WHEELS - 1) {
+                List<Entry> waiting = overflow;
+                overflow = new ArrayList<>();
+                waiting.forEach(entry -> insert(entry, Math.max(entry.time, time)));
+            }
+        }
+
+        int index = (int) (time & MASK);
+        List<Entry> due = wheels.set(index, new ArrayList<>());
+        for (Entry entry : due) {
+            AbstractAuraBlockEntity machine = entry.machine;
+            if (!machine.isRemoved() && machine.nextWakeTime == entry.time)
+                machine.wake(level, time);
+        }
+    }
+
+    private void rebucket(long time) {
+        List<Entry> all = new ArrayList<>(overflow);
+        wheels.forEach(all::addAll);
+        wheels.forEach(List::clear);
+        overflow = new ArrayList<>();
+        currentTime = time;
+        all.forEach(entry -> insert(entry, Math.max(entry.time, time + 1)));
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onLevelTick(final LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            MachineScheduler scheduler = SCHEDULERS.get(level);
+            if (scheduler != null)
+                scheduler.tick();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onLevelUnload(final LevelEvent.Unload event) {
+        if (event.getLevel() instanceof Level level)
+            SCHEDULERS.remove(level);
+    }
+
+    private record Entry(AbstractAuraBlockEntity machine, long time) {}
+}
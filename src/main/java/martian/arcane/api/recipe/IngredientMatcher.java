@@ -0,0 +1,147 @@
+package martian.arcane.api.recipe;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Matches lists of ingredients against the items in a container (usually an {@link ItemEntityContainer}), taking
+ * counts into account.
+ * <p>
+ * Identical stacks are pooled together when the matcher is created, so a container can be checked against any number
+ * of recipes without rescanning it. Each ingredient consumes one item from a pool, which means two identical
+ * ingredients need two items to match rather than both matching the same entity.
+ */
+public final class IngredientMatcher {
+    private final Container container;
+    private final List<ItemStack> poolStacks = new ArrayList<>();
+    private final List<IntList> poolSlots = new ArrayList<>();
+    private final int[] poolCounts;
+    private final int totalCount;
+    private final Map<Ingredient, BitSet> matchingPools = new IdentityHashMap<>();
+
+    public IngredientMatcher(Container container) {
+        this.container = container;
+
+        IntList counts = new IntArrayList();
+        int total = 0;
+        for (int slot = 0; slot < container.getContainerSize(); slot++) {
+            ItemStack stack = container.getItem(slot);
+            if (stack.isEmpty())
+                continue;
+
+            int pool = findPool(stack);
+            if (pool < 0) {
+                pool = poolStacks.size();
+                poolStacks.add(stack);
+                poolSlots.add(new IntArrayList());
+                counts.add(0);
+            }
+            poolSlots.get(pool).add(slot);
+            counts.set(pool, counts.getInt(pool) + stack.getCount());
+            total += stack.getCount();
+        }
+
+        this.poolCounts = counts.toIntArray();
+        this.totalCount = total;
+    }
+
+    private int findPool(ItemStack stack) {
+        for (int pool = 0; pool < poolStacks.size(); pool++)
+            if (ItemStack.isSameItemSameComponents(poolStacks.get(pool), stack))
+                return pool;
+        return -1;
+    }
+
+    // Ingredients are usually shared between recipes, so each one is only tested against the pools once
+    private BitSet getMatchingPools(Ingredient ingredient) {
+        return matchingPools.computeIfAbsent(ingredient, it -> {
+            BitSet pools = new BitSet(poolStacks.size());
+            for (int pool = 0; pool < poolStacks.size(); pool++)
+                if (it.test(poolStacks.get(pool)))
+                    pools.set(pool);
+            return pools;
+        });
+    }
+
+    /**
+     * @return The pool each ingredient takes an item from, or null if there are not enough matching items for every
+     *         ingredient.
+     */
+    public int @Nullable [] assign(List<Ingredient> ingredients) {
+        int size = ingredients.size();
+        if (size > totalCount)
+            return null;
+
+        BitSet[] options = new BitSet[size];
+        for (int i = 0; i < size; i++) {
+            options[i] = getMatchingPools(ingredients.get(i));
+            if (options[i].isEmpty())
+                return null;
+        }
+
+        // Most constrained ingredients first. Ingredients with the same options end up next to each other, which lets
+        // solve() skip assignments that only differ by swapping two of them.
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++)
+            boxed[i] = i;
+        Arrays.sort(boxed, Comparator
+                .<Integer>comparingInt(i -> options[i].cardinality())
+                .thenComparingInt(i -> options[i].hashCode()));
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++)
+            order[i] = boxed[i];
+
+        int[] assignment = new int[size];
+        return solve(0, order, options, poolCounts.clone(), assignment) ? assignment : null;
+    }
+
+    private static boolean solve(int depth, int[] order, BitSet[] options, int[] remaining, int[] assignment) {
+        if (depth == order.length)
+            return true;
+
+        int ingredient = order[depth];
+        BitSet pools = options[ingredient];
+
+        int start = 0;
+        if (depth > 0 && pools.equals(options[order[depth - 1]]))
+            start = assignment[order[depth - 1]];
+
+        for (int pool = pools.nextSetBit(start); pool >= 0; pool = pools.nextSetBit(pool + 1)) {
+            if (remaining[pool] == 0)
+                continue;
+
+            remaining[pool]--;
+            assignment[ingredient] = pool;
+            if (solve(depth + 1, order, options, remaining, assignment))
+                return true;
+            remaining[pool]++;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes one item for each ingredient from the pools chosen by {@link #assign}.
+     */
+    public void consume(int[] assignment) {
+        for (int pool : assignment) {
+            for (int slot : poolSlots.get(pool)) {
+                if (!container.getItem(slot).isEmpty()) {
+                    container.removeItem(slot, 1);
+                    break;
+                }
+            }
+        }
+    }
+
+    public Container getContainer() {
+        return container;
+    }
+}
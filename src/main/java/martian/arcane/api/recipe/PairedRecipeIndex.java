@@ -0,0 +1,99 @@
+package martian.arcane.api.recipe;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An immutable index from pairs of items to the recipes whose two key ingredients could match them.
+ * <p>
+ * Like {@link RecipeIndex}, candidates keep recipe manager order. Recipes where only one of the two ingredients can be
+ * expanded into items are indexed by that ingredient alone, and recipes where neither can are candidates for every
+ * lookup, so a lookup merges at most four short lists no matter how many recipes there are.
+ */
+public final class PairedRecipeIndex<R extends Recipe<?>> {
+    private final Long2ObjectMap<List<RecipeHolder<R>>> byPair;
+    private final Map<Item, List<RecipeHolder<R>>> byFirst;
+    private final Map<Item, List<RecipeHolder<R>>> bySecond;
+    private final List<RecipeHolder<R>> fallback;
+    private final Reference2IntMap<RecipeHolder<R>> order;
+
+    private PairedRecipeIndex(Long2ObjectMap<List<RecipeHolder<R>>> byPair, Map<Item, List<RecipeHolder<R>>> byFirst, Map<Item, List<RecipeHolder<R>>> bySecond, List<RecipeHolder<R>> fallback, Reference2IntMap<RecipeHolder<R>> order) {
+        this.byPair = byPair;
+        this.byFirst = byFirst;
+        this.bySecond = bySecond;
+        this.fallback = fallback;
+        this.order = order;
+    }
+
+    /**
+     * @param recipes The recipes to index, in recipe manager order.
+     * @param first The ingredient the first stack must satisfy.
+     * @param second The ingredient the second stack must satisfy.
+     */
+    public static <R extends Recipe<?>> PairedRecipeIndex<R> build(List<RecipeHolder<R>> recipes, Function<R, Ingredient> first, Function<R, Ingredient> second) {
+        Long2ObjectMap<List<RecipeHolder<R>>> byPair = new Long2ObjectOpenHashMap<>();
+        Map<Item, List<RecipeHolder<R>>> byFirst = new Reference2ObjectOpenHashMap<>();
+        Map<Item, List<RecipeHolder<R>>> bySecond = new Reference2ObjectOpenHashMap<>();
+        List<RecipeHolder<R>> fallback = new ArrayList<>();
+        Reference2IntMap<RecipeHolder<R>> order = new Reference2IntOpenHashMap<>(recipes.size());
+
+        for (RecipeHolder<R> recipe : recipes) {
+            order.put(recipe, order.size());
+
+            Set<Item> firstItems = RecipeIndex.expand(first.apply(recipe.value()));
+            Set<Item> secondItems = RecipeIndex.expand(second.apply(recipe.value()));
+
+            if (firstItems != null && secondItems != null) {
+                for (Item a : firstItems)
+                    for (Item b : secondItems)
+                        byPair.computeIfAbsent(pairKey(a, b), it -> new ArrayList<>()).add(recipe);
+            } else if (firstItems != null) {
+                for (Item a : firstItems)
+                    byFirst.computeIfAbsent(a, it -> new ArrayList<>()).add(recipe);
+            } else if (secondItems != null) {
+                for (Item b : secondItems)
+                    bySecond.computeIfAbsent(b, it -> new ArrayList<>()).add(recipe);
+            } else
+                fallback.add(recipe);
+        }
+
+        byPair.replaceAll((key, list) -> List.copyOf(list));
+        byFirst.replaceAll((item, list) -> List.copyOf(list));
+        bySecond.replaceAll((item, list) -> List.copyOf(list));
+
+        return new PairedRecipeIndex<>(byPair, byFirst, bySecond, List.copyOf(fallback), order);
+    }
+
+    private static long pairKey(Item a, Item b) {
+        return ((long) Item.getId(a) << 32) | (Item.getId(b) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return Every recipe that could match the given pair of stacks.
+     */
+    public List<RecipeHolder<R>> getCandidates(ItemStack first, ItemStack second) {
+        List<RecipeHolder<R>> candidates = byPair.getOrDefault(pairKey(first.getItem(), second.getItem()), List.of());
+        candidates = merge(candidates, byFirst.getOrDefault(first.getItem(), List.of()));
+        candidates = merge(candidates, bySecond.getOrDefault(second.getItem(), List.of()));
+        return merge(candidates, fallback);
+    }
+
+    private List<RecipeHolder<R>> merge(List<RecipeHolder<R>> a, List<RecipeHolder<R>> b) {
+        if (b.isEmpty())
+            return a;
+        if (a.isEmpty())
+            return b;
+        return RecipeIndex.merge(a, b, order);
+    }
+}
@@ -0,0 +1,124 @@
+package martian.arcane.api.recipe;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An immutable index from items to the recipes whose key ingredient could match them.
+ * <p>
+ * Candidates are always returned in the same order as the recipe manager lists them, so the first matching candidate
+ * is the same recipe a linear scan would have found. Ingredients that can not be expanded into a fixed set of items
+ * (custom or component-sensitive ingredients) are kept in a fallback list which is a candidate for every lookup.
+ */
+public final class RecipeIndex<R extends Recipe<?>> {
+    private final List<RecipeHolder<R>> all;
+    private final Map<Item, List<RecipeHolder<R>>> byItem;
+    private final List<RecipeHolder<R>> fallback;
+    private final Reference2IntMap<RecipeHolder<R>> order;
+
+    private RecipeIndex(List<RecipeHolder<R>> all, Map<Item, List<RecipeHolder<R>>> byItem, List<RecipeHolder<R>> fallback, Reference2IntMap<RecipeHolder<R>> order) {
+        this.all = all;
+        this.byItem = byItem;
+        this.fallback = fallback;
+        this.order = order;
+    }
+
+    /**
+     * @param recipes The recipes to index, in recipe manager order.
+     * @param key The ingredient every matching input must satisfy.
+     */
+    public static <R extends Recipe<?>> RecipeIndex<R> build(List<RecipeHolder<R>> recipes, Function<R, Ingredient> key) {
+        Map<Item, List<RecipeHolder<R>>> byItem = new Reference2ObjectOpenHashMap<>();
+        List<RecipeHolder<R>> fallback = new ArrayList<>();
+        Reference2IntMap<RecipeHolder<R>> order = new Reference2IntOpenHashMap<>(recipes.size());
+
+        for (RecipeHolder<R> recipe : recipes) {
+            order.put(recipe, order.size());
+
+            Set<Item> items = expand(key.apply(recipe.value()));
+            if (items == null) {
+                fallback.add(recipe);
+                continue;
+            }
+
+            for (Item item : items)
+                byItem.computeIfAbsent(item, it -> new ArrayList<>()).add(recipe);
+        }
+
+        // Fallback recipes are candidates for every item, so merge them into each list once instead of on every lookup
+        if (!fallback.isEmpty())
+            byItem.replaceAll((item, list) -> merge(list, fallback, order));
+        byItem.replaceAll((item, list) -> List.copyOf(list));
+
+        return new RecipeIndex<>(List.copyOf(recipes), byItem, List.copyOf(fallback), order);
+    }
+
+    public List<RecipeHolder<R>> getAll() {
+        return all;
+    }
+
+    public List<RecipeHolder<R>> getCandidates(ItemStack stack) {
+        return byItem.getOrDefault(stack.getItem(), fallback);
+    }
+
+    /**
+     * @return Every recipe that could match at least one of the given stacks.
+     */
+    public List<RecipeHolder<R>> getCandidates(Collection<ItemStack> stacks) {
+        Set<Item> items = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<RecipeHolder<R>> candidates = null;
+        for (ItemStack stack : stacks) {
+            if (!items.add(stack.getItem()))
+                continue;
+
+            List<RecipeHolder<R>> forItem = byItem.get(stack.getItem());
+            if (forItem != null)
+                candidates = candidates == null ? forItem : merge(candidates, forItem, order);
+        }
+        return candidates == null ? fallback : candidates;
+    }
+
+    // The items an ingredient can match, or null if it can not be expanded into a fixed set of items
+    static @Nullable Set<Item> expand(Ingredient ingredient) {
+        ItemStack[] stacks = ingredient.isSimple() ? ingredient.getItems() : new ItemStack[0];
+        if (stacks.length == 0)
+            return null;
+
+        Set<Item> items = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ItemStack stack : stacks)
+            items.add(stack.getItem());
+        return items;
+    }
+
+    // Merges two lists which are both sorted by recipe order, dropping duplicates
+    static <R extends Recipe<?>> List<RecipeHolder<R>> merge(List<RecipeHolder<R>> a, List<RecipeHolder<R>> b, Reference2IntMap<RecipeHolder<R>> order) {
+        List<RecipeHolder<R>> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0, j = 0;
+        while (i < a.size() && j < b.size()) {
+            int orderA = order.getInt(a.get(i)), orderB = order.getInt(b.get(j));
+            if (orderA < orderB)
+                merged.add(a.get(i++));
+            else if (orderB < orderA)
+                merged.add(b.get(j++));
+            else {
+                merged.add(a.get(i++));
+                j++;
+            }
+        }
+        while (i < a.size())
+            merged.add(a.get(i++));
+        while (j < b.size())
+            merged.add(b.get(j++));
+        return merged;
+    }
+}
@@ -0,0 +1,95 @@
+package martian.arcane.api.recipe;
+
+import martian.arcane.ArcaneMod;
+import net.minecraft.Util;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Holds the {@link RecipeIndex} (or other index) of each recipe type for each recipe manager (the server and client each have one).
+ * <p>
+ * Indexes are built on the background executor the first time they are asked for after a reload. Until a build has
+ * finished, {@link #get} returns null and callers should fall back to scanning every recipe, so a reload never stalls
+ * the thread doing the lookup. Ingredients are expanded from tags, so a recipe manager's indexes are thrown away with
+ * {@link #invalidate(RecipeManager)} whenever its tags or recipes are updated. The server makes a new recipe manager for
+ * every reload, while the client keeps one and has its recipes replaced, so on an integrated server the client's updates
+ * never touch the server's indexes.
+ */
+public class RecipeIndexes {
+    // Recipe managers left behind by a reload are dropped along with their indexes
+    private static final Map<RecipeManager, Indexes> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicInteger NEXT_VERSION = new AtomicInteger();
+
+    public static <C extends Container, R extends Recipe<C>> @Nullable RecipeIndex<R> get(Level level, RecipeType<R> type, Function<R, Ingredient> key) {
+        return get(level.getRecipeManager(), type, key);
+    }
+
+    public static <C extends Container, R extends Recipe<C>> @Nullable RecipeIndex<R> get(RecipeManager manager, RecipeType<R> type, Function<R, Ingredient> key) {
+        return getOrBuild(manager, type, recipes -> RecipeIndex.build(recipes, key));
+    }
+
+    /**
+     * Like {@link #get(Level, RecipeType, Function)}, for recipe types which need a different kind of index. Each
+     * recipe type only ever has one index, so a type must always be asked for with the same builder.
+     */
+    public static <C extends Container, R extends Recipe<C>, I> @Nullable I getOrBuild(Level level, RecipeType<R> type, Function<List<RecipeHolder<R>>, I> builder) {
+        return getOrBuild(level.getRecipeManager(), type, builder);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <C extends Container, R extends Recipe<C>, I> @Nullable I getOrBuild(RecipeManager manager, RecipeType<R> type, Function<List<RecipeHolder<R>>, I> builder) {
+        CompletableFuture<Object> future = indexes(manager).byType
+                .computeIfAbsent(type, it -> CompletableFuture.<Object>supplyAsync(
+                        () -> builder.apply(manager.getAllRecipesFor(type)),
+                        Util.backgroundExecutor()
+                ).exceptionally(e -> {
+                    // Lookups keep scanning every recipe for this type
+                    ArcaneMod.LOGGER.error("Failed to build the recipe index for {}", type, e);
+                    return null;
+                }));
+        return (I) future.getNow(null);
+    }
+
+    private static Indexes indexes(RecipeManager manager) {
+        return INDEXES.computeIfAbsent(manager, it -> new Indexes());
+    }
+
+    // Blocks until every index that has been asked for from the given recipe manager has finished building
+    public static void await(RecipeManager manager) {
+        Indexes indexes = INDEXES.get(manager);
+        if (indexes != null)
+            indexes.byType.values().forEach(CompletableFuture::join);
+    }
+
+    /**
+     * Changes every time the recipe manager's recipes or tags change, so anything caching recipe lookups can tell when
+     * to look again. Versions are never reused, even by different recipe managers.
+     */
+    public static int getVersion(RecipeManager manager) {
+        return indexes(manager).version;
+    }
+
+    public static void invalidate(RecipeManager manager) {
+        INDEXES.remove(manager);
+    }
+
+    private static final class Indexes {
+        private final Map<RecipeType<?>, CompletableFuture<Object>> byType = new ConcurrentHashMap<>();
+        private final int version = NEXT_VERSION.incrementAndGet();
+    }
+}
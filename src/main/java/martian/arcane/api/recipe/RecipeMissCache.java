@@ -0,0 +1,41 @@
+package martian.arcane.api.recipe;
+
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenCustomHashSet;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.ItemStackLinkedSet;
+import net.minecraft.world.item.crafting.RecipeManager;
+
+/**
+ * Remembers stacks which a recipe type has no recipe for, so automation repeatedly trying to craft something that
+ * can't be crafted doesn't have to look through the recipes every time.
+ * <p>
+ * Stacks are compared by item and components, ignoring count. The cache holds at most {@link #MAX_SIZE} stacks,
+ * forgetting the oldest first, and is cleared whenever it is used with a different recipe manager or
+ * {@link RecipeIndexes#getVersion(RecipeManager)} changes.
+ */
+public final class RecipeMissCache {
+    public static final int MAX_SIZE = 256;
+
+    private final ObjectLinkedOpenCustomHashSet<ItemStack> misses = new ObjectLinkedOpenCustomHashSet<>(ItemStackLinkedSet.TYPE_AND_TAG);
+    private int version = -1;
+
+    public synchronized boolean isMiss(RecipeManager manager, ItemStack stack) {
+        validate(manager);
+        return misses.contains(stack);
+    }
+
+    public synchronized void addMiss(RecipeManager manager, ItemStack stack) {
+        validate(manager);
+        if (misses.size() >= MAX_SIZE)
+            misses.removeFirst();
+        misses.add(stack.copyWithCount(1));
+    }
+
+    private void validate(RecipeManager manager) {
+        int current = RecipeIndexes.getVersion(manager);
+        if (version != current) {
+            misses.clear();
+            version = current;
+        }
+    }
+}
@@ -5,11 +5,13 @@ import com.mojang.serialization.codecs.RecordCodecBuilder;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.ItemLike;
 
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
 
 public record RecipeOutput(ItemStack stack, float chance) {
     public RecipeOutput(ItemLike item, int count, float chance) {
@@ -26,19 +28,154 @@ public record RecipeOutput(ItemStack stack, float chance) {
             ByteBufCodecs.FLOAT, RecipeOutput::chance,
             RecipeOutput::new);
 
-    private static final Random random = new Random();
+    public ItemStack roll(RandomSource random) {
+        int count = sampleBinomial(random, stack.getCount(), chance);
+        return count == 0 ? ItemStack.EMPTY : stack.copyWithCount(count);
+    }
 
-    public ItemStack roll() {
-        int count = 0;
-        for (int i = 0; i < stack.getCount(); i++) {
-            if (random.nextFloat() < chance)
-                count++;
+    /**
+     * Rolls this output for the given number of crafts at once, split into stacks no larger than the item allows.
+     */
+    public List<ItemStack> roll(RandomSource random, int crafts) {
+        int count = sampleBinomial(random, stack.getCount() * crafts, chance);
+        if (count == 0)
+            return List.of();
+
+        List<ItemStack> stacks = new ArrayList<>();
+        int maxStackSize = stack.getMaxStackSize();
+        while (count > 0) {
+            int size = Math.min(count, maxStackSize);
+            stacks.add(stack.copyWithCount(size));
+            count -= size;
         }
+        return stacks;
+    }
 
-        if (count == 0)
-            return ItemStack.EMPTY;
+    // Number of successes out of n trials which each succeed with chance p. Small expected counts are drawn by
+    // inversion, which takes about n * p steps, and larger ones with BTPE, which takes a constant number of steps on
+    // average, so this never loops over every trial.
+    private static int sampleBinomial(RandomSource random, int n, float p) {
+        if (n <= 0 || p <= 0)
+            return 0;
+        if (p >= 1)
+            return n;
+        if (p > 0.5F)
+            return n - sampleBinomial(random, n, 1 - p);
+
+        if (n * (double) p < 30) {
+            double q = 1 - p;
+            double ratio = p / q;
+            double probability = Math.pow(q, n);
+            double u = random.nextDouble();
+            int x = 0;
+            while (u > probability && x < n) {
+                u -= probability;
+                x++;
+                probability *= ratio * (n - x + 1) / x;
+            }
+            return x;
+        }
+
+        return sampleBinomialBtpe(random, n, p);
+    }
+
+    // Kachitvichyanukul and Schmeiser's BTPE ("Binomial, Triangle, Parallelogram, Exponential"), an exact rejection
+    // sampler for p <= 0.5 and n * p >= 30, laid out as in the original 1988 paper
+    private static int sampleBinomialBtpe(RandomSource random, int n, double p) {
+        double q = 1 - p;
+        double nrq = n * p * q;
+        double fm = n * p + p;
+        int m = (int) fm;
+
+        double p1 = Math.floor(2.195 * Math.sqrt(nrq) - 4.6 * q) + 0.5;
+        double xm = m + 0.5;
+        double xl = xm - p1;
+        double xr = xm + p1;
+        double c = 0.134 + 20.5 / (15.3 + m);
+        double a = (fm - xl) / (fm - xl * p);
+        double lambdaL = a * (1 + a / 2);
+        a = (xr - fm) / (xr * q);
+        double lambdaR = a * (1 + a / 2);
+        double p2 = p1 * (1 + 2 * c);
+        double p3 = p2 + c / lambdaL;
+        double p4 = p3 + c / lambdaR;
+
+        while (true) {
+            double u = random.nextDouble() * p4;
+            double v = random.nextDouble();
+            int y;
+
+            if (u <= p1) {
+                // Triangular region, always accepted
+                return (int) Math.floor(xm - p1 * v + u);
+            } else if (u <= p2) {
+                // Parallelograms
+                double x = xl + (u - p1) / c;
+                v = v * c + 1 - Math.abs(m - x + 0.5) / p1;
+                if (v > 1)
+                    continue;
+                y = (int) Math.floor(x);
+            } else if (u <= p3) {
+                // Left exponential tail
+                if (v == 0)
+                    continue;
+                y = (int) Math.floor(xl + Math.log(v) / lambdaL);
+                if (y < 0)
+                    continue;
+                v = v * (u - p2) * lambdaL;
+            } else {
+                // Right exponential tail
+                if (v == 0)
+                    continue;
+                y = (int) Math.floor(xr - Math.log(v) / lambdaR);
+                if (y > n)
+                    continue;
+                v = v * (u - p3) * lambdaR;
+            }
+
+            int k = Math.abs(y - m);
+            if (k <= 20 || k >= nrq / 2 - 1) {
+                // Close to the mode, compare against the exact ratio f(y) / f(m)
+                double s = p / q;
+                double as = s * (n + 1);
+                double f = 1;
+                if (m < y) {
+                    for (int i = m + 1; i <= y; i++)
+                        f *= as / i - s;
+                } else if (m > y) {
+                    for (int i = y + 1; i <= m; i++)
+                        f /= as / i - s;
+                }
+                if (v <= f)
+                    return y;
+                continue;
+            }
+
+            // Squeeze, then the Stirling approximation of log(f(y) / f(m))
+            double rho = (k / nrq) * ((k * (k / 3.0 + 0.625) + 0.16666666666666666) / nrq + 0.5);
+            double t = -(double) k * k / (2 * nrq);
+            double logV = Math.log(v);
+            if (logV < t - rho)
+                return y;
+            if (logV > t + rho)
+                continue;
+
+            double x1 = y + 1;
+            double f1 = m + 1;
+            double z = n + 1 - m;
+            double w = n - y + 1;
+            double bound = xm * Math.log(f1 / x1)
+                    + (n - m + 0.5) * Math.log(z / w)
+                    + (y - m) * Math.log(w * p / (x1 * q))
+                    + stirlingCorrection(f1) + stirlingCorrection(z) + stirlingCorrection(x1) + stirlingCorrection(w);
+            if (logV <= bound)
+                return y;
+        }
+    }
 
-        return stack.copyWithCount(count);
+    private static double stirlingCorrection(double x) {
+        double x2 = x * x;
+        return (13860 - (462 - (132 - (99 - 140 / x2) / x2) / x2) / x2) / x / 166320;
     }
 
     public ItemStack getStack() {
@@ -3,6 +3,7 @@ package martian.arcane.api.recipe;
 import net.minecraft.MethodsReturnNonnullByDefault;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.core.NonNullList;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.*;
 import net.minecraft.world.level.Level;
@@ -27,9 +28,9 @@ public abstract class SimpleRecipe<T extends SingleItemContainer> implements Rec
         return results;
     }
 
-    public NonNullList<ItemStack> getResultItems() {
+    public NonNullList<ItemStack> getResultItems(RandomSource random) {
         NonNullList<ItemStack> list = NonNullList.create();
-        list.addAll(results.stream().map(RecipeOutput::roll).toList());
+        list.addAll(results.stream().map(output -> output.roll(random)).toList());
         return list;
     }
 
@@ -41,7 +42,11 @@ public abstract class SimpleRecipe<T extends SingleItemContainer> implements Rec
 
     @Override
     public boolean matches(SingleItemContainer container, Level level) {
-        return this.input.test(container.getItem());
+        return matches(container.getItem());
+    }
+
+    public boolean matches(ItemStack stack) {
+        return this.input.test(stack);
     }
 
     @Override
@@ -3,14 +3,22 @@ package martian.arcane.api.spell;
 import martian.arcane.ArcaneConfig;
 import martian.arcane.api.ArcaneRegistries;
 import martian.arcane.common.item.ItemWand;
+import net.minecraft.core.Registry;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.util.BitSet;
 import java.util.Objects;
 
 public abstract class AbstractSpell {
+    // Disabled spells by id, replaced whenever the config or the registry changes
+    private static volatile BitSet disabledIds = new BitSet();
+
+    // The spell's id in ArcaneRegistries.SPELLS, or -1 until the registry is baked
+    private int id = -1;
+
     public Component getSpellName() {
         return Component.translatable("spell." + Objects.requireNonNull(ArcaneRegistries.SPELLS.getKey(this)).toShortLanguageKey() + ".name");
     }
@@ -24,15 +32,26 @@ public abstract class AbstractSpell {
     }
 
     public int getCooldownTicks(CastContext context) {
-        return getConfig().get("cooldown");
+        return getConfig().basics().cooldown();
     }
 
     public int getMinLevel() {
-        return getConfig().get("minLevel");
+        return getConfig().basics().minLevel();
     }
 
     public int getAuraCost(CastContext context) {
-        return getConfig().get("auraCost");
+        return getConfig().basics().auraCost();
+    }
+
+    /**
+     * Works out what casting the spell will do. Spells which affect a varying number of blocks should override this so
+     * that the cost they are charged matches what {@link #cast(CastContext)} does.
+     * <p>
+     * Use {@link CastContext#plan(AbstractSpell)} instead so that the plan is only made once per cast.
+     */
+    @ApiStatus.OverrideOnly
+    public CastPlan plan(CastContext context) {
+        return CastPlan.of(getAuraCost(context));
     }
 
     public boolean canCastFromContext(CastContext context) {
@@ -47,11 +66,41 @@ public abstract class AbstractSpell {
     @ApiStatus.Internal
     public abstract CastResult cast(CastContext context);
 
+    public final int getId() {
+        return id;
+    }
+
     public static boolean isDisabled(AbstractSpell spell) {
-        return ArcaneConfig.disabledSpells.contains(ArcaneRegistries.SPELLS.getKey(spell));
+        int id = spell.id;
+        return id >= 0 ? disabledIds.get(id) : ArcaneConfig.disabledSpells.contains(ArcaneRegistries.SPELLS.getKey(spell));
     }
 
     public static boolean isDisabled(ResourceLocation spellId) {
         return ArcaneConfig.disabledSpells.contains(spellId);
     }
+
+    /**
+     * Gives every spell its registry id, which is dense, so per-spell state can be kept in arrays and bit sets. Runs
+     * whenever the registry is baked, including after the client syncs ids with a server.
+     */
+    @ApiStatus.Internal
+    public static void bakeIds(Registry<AbstractSpell> registry) {
+        for (AbstractSpell spell : registry)
+            spell.id = registry.getId(spell);
+        updateDisabledSpells();
+    }
+
+    @ApiStatus.Internal
+    public static void updateDisabledSpells() {
+        if (ArcaneConfig.disabledSpells == null)
+            return;
+
+        BitSet disabled = new BitSet();
+        for (ResourceLocation spellId : ArcaneConfig.disabledSpells) {
+            AbstractSpell spell = ArcaneRegistries.SPELLS.get(spellId);
+            if (spell != null && spell.id >= 0)
+                disabled.set(spell.id);
+        }
+        disabledIds = disabled;
+    }
 }
@@ -2,6 +2,7 @@ package martian.arcane.api.spell;
 
 import martian.arcane.api.Raycasting;
 import martian.arcane.api.aura.IMutableAuraStorage;
+import martian.arcane.api.item.AbstractAuraItem;
 import martian.arcane.api.item.IAuraWand;
 import martian.arcane.common.block.spellcircle.BlockEntitySpellCircle;
 import martian.arcane.common.block.spellcircle.BlockSpellCircle;
@@ -12,6 +13,7 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.HitResult;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class CastContext {
     public final Level level;
@@ -19,6 +21,12 @@ public abstract class CastContext {
     public final ICastingSource source;
     public final CastTarget<?> target;
 
+    private @Nullable AbstractSpell plannedSpell = null;
+    private @Nullable CastPlan plan = null;
+    private boolean casting = false;
+    // Aura refunded while the spell was being cast, which tryCast takes off the charge instead
+    private int refundedWhileCasting = 0;
+
     public CastContext(Level level, IMutableAuraStorage aura, ICastingSource source, CastTarget<?> target) {
         this.level = level;
         this.aura = aura;
@@ -36,25 +44,63 @@ public abstract class CastContext {
      * @return The result of the cast.
      */
     public CastResult tryCast(AbstractSpell spell) {
-        int cost = spell.getAuraCost(this);
-
         if (AbstractSpell.isDisabled(spell)) {
             return CastResult.FAIL_DISABLED;
-        } else if (aura.getAura() < cost) {
-            return CastResult.FAIL_OUT_OF_AURA;
         } else if (source.getCastLevel(this) < spell.getMinLevel()) {
             return CastResult.FAIL_WAND_LEVEL_TOO_LOW;
         }
 
+        int cost = plan(spell).cost();
+        if (aura.getAura() < cost) {
+            clearPlan();
+            return CastResult.FAIL_OUT_OF_AURA;
+        }
+
         CastResult result = forceCast(spell);
 
         if (!result.failed()) {
-            aura.removeAura(cost);
+            aura.removeAura(cost - refundedWhileCasting);
         }
 
         return result;
     }
 
+    /**
+     * Plans the next cast of a spell. The plan is only made once, so the cost that {@link #tryCast(AbstractSpell)}
+     * charges and what {@link AbstractSpell#cast(CastContext)} does come from the same world state. It is thrown away
+     * once the spell has been cast, since the cast itself changes the world and the source's Aura.
+     * @param spell The spell to plan.
+     * @return The plan for the spell's next cast.
+     */
+    public CastPlan plan(AbstractSpell spell) {
+        if (plan == null || plannedSpell != spell) {
+            plan = spell.plan(this);
+            plannedSpell = spell;
+        }
+        return plan;
+    }
+
+    private void clearPlan() {
+        plan = null;
+        plannedSpell = null;
+    }
+
+    /**
+     * Gives back Aura that was charged for a cast but not used, for example by a {@link SpellJobQueue.Job} which
+     * found some of its blocks could no longer be affected. Refunds made during the cast itself are taken off what
+     * {@link #tryCast(AbstractSpell)} charges.
+     */
+    public final void refund(int amount) {
+        if (casting)
+            refundedWhileCasting += amount;
+        else
+            returnAura(amount);
+    }
+
+    protected void returnAura(int amount) {
+        aura.addAura(amount);
+    }
+
     /**
      * Forcefully cast a spell. Ignores if the spell is disabled and if the
      * source has enough Aura. If this is used then make sure to check if the
@@ -65,7 +111,14 @@ public abstract class CastContext {
      * @return The result of the cast.
      */
     public CastResult forceCast(AbstractSpell spell) {
-        return spell.cast(this);
+        casting = true;
+        refundedWhileCasting = 0;
+        try {
+            return spell.cast(this);
+        } finally {
+            casting = false;
+            clearPlan();
+        }
     }
 
     public static class WandContext extends CastContext {
@@ -73,13 +126,31 @@ public abstract class CastContext {
         public final InteractionHand castingHand;
         public final ItemStack castingStack;
         public final IAuraWand wand;
+        // The raycast the target was resolved from, so spells don't need to raycast again
+        public final HitResult hit;
 
         public WandContext(Level level, IMutableAuraStorage aura, Player caster, InteractionHand castingHand, ItemStack castingStack, IAuraWand wand) {
-            super(level, aura, wand, CastTarget.fromHitResult(Raycasting.raycast(caster, caster.entityInteractionRange(), false)));
+            this(level, aura, caster, castingHand, castingStack, wand, Raycasting.raycast(caster, caster.entityInteractionRange(), false));
+        }
+
+        private WandContext(Level level, IMutableAuraStorage aura, Player caster, InteractionHand castingHand, ItemStack castingStack, IAuraWand wand, HitResult hit) {
+            super(level, aura, wand, CastTarget.fromHitResult(hit));
             this.caster = caster;
             this.castingHand = castingHand;
             this.castingStack = castingStack;
             this.wand = wand;
+            this.hit = hit;
+        }
+
+        // The storage the wand was cast with is a copy that only lives for the cast, so refunds go back to the wand
+        @Override
+        protected void returnAura(int amount) {
+            if (castingStack.getItem() instanceof AbstractAuraItem item) {
+                item.mutateAuraStorage(castingStack, storage -> {
+                    storage.addAura(amount);
+                    return storage;
+                });
+            }
         }
 
         public HitResult raycast(boolean hitFluids) {
@@ -93,10 +164,13 @@ public abstract class CastContext {
 
     public static class SpellCircleContext extends CastContext {
         public final BlockPos target;
+        // When above 0, crafting spells are applied to every pedestal within this many blocks of the target
+        public final int areaRadius;
 
         public SpellCircleContext(Level level, IMutableAuraStorage aura, BlockPos target, BlockEntitySpellCircle circle) {
             super(level, aura, circle, CastTarget.targetBlock(target));
             this.target = target;
+            this.areaRadius = circle.getAreaRadius();
         }
 
         public SpellCircleContext(BlockEntitySpellCircle circle) {
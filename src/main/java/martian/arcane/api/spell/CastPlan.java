@@ -0,0 +1,60 @@
+package martian.arcane.api.spell;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.phys.BlockHitResult;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * What a spell will do when it is cast: the block it hit, the face it hit, every position it will affect and the exact
+ * amount of Aura that costs.
+ * <p>
+ * Plans are made once per cast by {@link CastContext#plan(AbstractSpell)}, so the cost that gets charged and the blocks
+ * that get affected always agree.
+ */
+public record CastPlan(@Nullable BlockHitResult hit, @Nullable Direction face, List<BlockPos> positions, int cost) {
+    public static final CastPlan EMPTY = new CastPlan(null, null, List.of(), 0);
+
+    public CastPlan {
+        positions = List.copyOf(positions);
+    }
+
+    public static CastPlan of(int cost) {
+        return new CastPlan(null, null, List.of(), cost);
+    }
+
+    /**
+     * Plans a spell which affects every position in an area that passes the filter, charging a fixed cost for each.
+     * Positions stop being added once the next one would go over the budget, but the first is always added so that a
+     * source which can't afford any of them fails for being out of Aura.
+     */
+    public static CastPlan ofArea(@Nullable BlockHitResult hit, Stream<BlockPos> area, Predicate<BlockPos> filter, int costPerBlock, int budget, int maxPositions) {
+        List<BlockPos> positions = new ArrayList<>();
+        int cost = 0;
+
+        Iterator<BlockPos> it = area.iterator();
+        while (it.hasNext() && positions.size() < maxPositions) {
+            BlockPos pos = it.next();
+            if (!filter.test(pos))
+                continue;
+            if (!positions.isEmpty() && cost + costPerBlock > budget)
+                break;
+
+            // Area streams reuse a mutable position
+            positions.add(pos.immutable());
+            cost += costPerBlock;
+        }
+
+        return new CastPlan(hit, hit == null ? null : hit.getDirection(), positions, cost);
+    }
+
+    public boolean isEmpty() {
+        return positions.isEmpty();
+    }
+}
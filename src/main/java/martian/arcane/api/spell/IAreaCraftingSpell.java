@@ -0,0 +1,72 @@
+package martian.arcane.api.spell;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenCustomHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+import martian.arcane.common.block.pedestal.BlockEntityPedestal;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.ItemStackLinkedSet;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A spell which spell circles in area mode can apply to every pedestal in their area in one cast.
+ * <p>
+ * Implementations should return {@link #planArea} from {@link AbstractSpell#plan(CastContext)} and {@link #castArea}
+ * from {@link AbstractSpell#cast(CastContext)} when {@link #isAreaCast(CastContext)}, so the cast is charged by
+ * {@link CastContext#tryCast(AbstractSpell)} like any other.
+ */
+public interface IAreaCraftingSpell {
+    /**
+     * @return If the spell has a recipe for the stack.
+     */
+    boolean canCraft(Level level, ItemStack stack);
+
+    /**
+     * Crafts the item on each pedestal, until maxCrafts pedestals have been crafted. Pedestals without a recipe don't
+     * count towards the limit. Implementations should only resolve a recipe once per distinct stack.
+     * @return How many pedestals were crafted.
+     */
+    int craftPedestals(Level level, List<BlockEntityPedestal> pedestals, int maxCrafts);
+
+    static boolean isAreaCast(CastContext c) {
+        return c instanceof CastContext.SpellCircleContext sc && sc.areaRadius > 0;
+    }
+
+    // Every pedestal around the target holding something the spell can craft, as many as the circle can afford
+    default CastPlan planArea(CastContext.SpellCircleContext c, int costPerCraft) {
+        Map<ItemStack, Boolean> craftable = new Object2ObjectOpenCustomHashMap<>(ItemStackLinkedSet.TYPE_AND_TAG);
+        int r = c.areaRadius;
+        return CastPlan.ofArea(
+                null,
+                BlockPos.betweenClosedStream(c.target.offset(-r, -r, -r), c.target.offset(r, r, r)),
+                pos -> c.level.isLoaded(pos) &&
+                        c.level.getBlockEntity(pos) instanceof BlockEntityPedestal pedestal &&
+                        !pedestal.getItem().isEmpty() &&
+                        craftable.computeIfAbsent(pedestal.getItem(), stack -> canCraft(c.level, stack)),
+                costPerCraft,
+                c.aura.getAura(),
+                Integer.MAX_VALUE
+        );
+    }
+
+    default CastResult castArea(CastContext.SpellCircleContext c, CastPlan plan) {
+        List<BlockEntityPedestal> pedestals = new ArrayList<>();
+        for (BlockPos pos : plan.positions())
+            if (c.level.getBlockEntity(pos) instanceof BlockEntityPedestal pedestal && !pedestal.getItem().isEmpty())
+                pedestals.add(pedestal);
+
+        return craftPedestals(c.level, pedestals, plan.positions().size()) > 0 ? CastResult.SUCCESS : CastResult.FAILED;
+    }
+
+    // Groups pedestals holding the same item and components, keeping the order they were given in
+    static Map<ItemStack, List<BlockEntityPedestal>> groupByStack(List<BlockEntityPedestal> pedestals) {
+        Map<ItemStack, List<BlockEntityPedestal>> groups = new Object2ObjectLinkedOpenCustomHashMap<>(ItemStackLinkedSet.TYPE_AND_TAG);
+        for (BlockEntityPedestal pedestal : pedestals)
+            groups.computeIfAbsent(pedestal.getItem(), it -> new ArrayList<>()).add(pedestal);
+        return groups;
+    }
+}
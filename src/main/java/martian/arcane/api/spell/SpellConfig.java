@@ -1,17 +1,25 @@
 package martian.arcane.api.spell;
 
 import com.electronwill.nightconfig.core.file.FileConfig;
+import com.electronwill.nightconfig.core.file.FileWatcher;
+import martian.arcane.ArcaneMod;
 import net.minecraft.resources.ResourceLocation;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class SpellConfig {
     protected final ResourceLocation spellId;
     protected final String filePath;
     protected final FileConfig config;
 
+    private final List<Compiled<?>> compiled = new CopyOnWriteArrayList<>();
+    private Compiled<Basics> basics;
+
     public SpellConfig(ResourceLocation spellId) {
         this.spellId = spellId;
         this.filePath = "config/" + spellId.getNamespace() + "/spells/" + spellId.getPath() + ".toml";
@@ -23,10 +31,18 @@ public class SpellConfig {
         return this;
     }
 
+    /**
+     * Reads a value straight from the file. This is a map lookup and an unchecked cast every time, so anything read
+     * while casting should come from {@link #compile(Function)} instead.
+     */
     public <T> T get(String key) {
         return config.get(key);
     }
 
+    public <T> T getOrElse(String key, T defaultValue) {
+        return config.getOrElse(key, defaultValue);
+    }
+
     public SpellConfig set(String key, Object value) {
         config.set(key, value);
         return this;
@@ -46,9 +62,45 @@ public class SpellConfig {
         }
 
         config.load();
+        basics = compile(Basics::new);
+
+        try {
+            FileWatcher.defaultInstance().addWatch(config.getNioPath(), this::reload);
+        } catch (IOException e) {
+            ArcaneMod.LOGGER.warn("Arcane ({}): Failed to watch {}, changes will need a restart", spellId, filePath, e);
+        }
+
         return this;
     }
 
+    /**
+     * Turns the config into a typed value, usually a record, which is rebuilt and swapped in whenever the file changes.
+     * Must be called after {@link #build()}.
+     */
+    public <T> Compiled<T> compile(Function<SpellConfig, T> compiler) {
+        Compiled<T> value = new Compiled<>(compiler, compiler.apply(this));
+        compiled.add(value);
+        return value;
+    }
+
+    // The values every spell has
+    public Basics basics() {
+        return basics.get();
+    }
+
+    // Called from the file watcher's thread
+    private void reload() {
+        try {
+            config.load();
+        } catch (RuntimeException e) {
+            ArcaneMod.LOGGER.warn("Arcane ({}): Failed to reload {}, keeping the previous values", spellId, filePath, e);
+            return;
+        }
+
+        compiled.forEach(Compiled::recompile);
+        ArcaneMod.LOGGER.info("Arcane ({}): Reloaded {}", spellId, filePath);
+    }
+
     public void save() {
         config.save();
     }
@@ -58,6 +110,7 @@ public class SpellConfig {
     }
 
     public void close() {
+        FileWatcher.defaultInstance().removeWatch(config.getNioPath());
         config.close();
     }
 
@@ -67,4 +120,36 @@ public class SpellConfig {
                 .set("cooldown", cooldown)
                 .set("minLevel", minLevel);
     }
+
+    public record Basics(int auraCost, int cooldown, int minLevel) {
+        public Basics(SpellConfig config) {
+            this(config.getOrElse("auraCost", 0), config.get("cooldown"), config.get("minLevel"));
+        }
+    }
+
+    /**
+     * The latest compiled values of a spell config. Reading it is a single volatile read, so it is cheap enough to call
+     * once per block.
+     */
+    public final class Compiled<T> {
+        private final Function<SpellConfig, T> compiler;
+        private volatile T value;
+
+        private Compiled(Function<SpellConfig, T> compiler, T value) {
+            this.compiler = compiler;
+            this.value = value;
+        }
+
+        public T get() {
+            return value;
+        }
+
+        private void recompile() {
+            try {
+                value = compiler.apply(SpellConfig.this);
+            } catch (RuntimeException e) {
+                ArcaneMod.LOGGER.warn("Arcane ({}): Invalid values in {}, keeping the previous values", spellId, filePath, e);
+            }
+        }
+    }
 }
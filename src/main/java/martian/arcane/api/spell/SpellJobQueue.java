@@ -0,0 +1,165 @@
+package martian.arcane.api.spell;
+
+import martian.arcane.ArcaneConfig;
+import martian.arcane.ArcaneMod;
+import martian.arcane.api.block.BlockMutationBatch;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+
+/**
+ * Spreads the block changes of large spell casts over several ticks, so that a cast never changes more than
+ * {@link ArcaneConfig#spellBlocksPerTick} blocks in a level per tick. Jobs small enough to fit in one tick are applied
+ * as soon as they are submitted, so a later spell cast with the same context (such as the next wand in a chainwand)
+ * sees the changed blocks.
+ * <p>
+ * Spells charge for every block in their {@link CastPlan} when they are cast. When a job reaches a block that can no
+ * longer be affected, such as a block that has already been broken, or the batch turns a change down because another
+ * cast changed the same block that tick, the Aura for it is refunded through {@link CastContext#refund(int)} once the
+ * job finishes. Jobs that are still queued when their level unloads or the server stops are refunded in full.
+ */
+@EventBusSubscriber(modid = ArcaneMod.MODID)
+public class SpellJobQueue {
+    private static final Map<Level, SpellJobQueue> QUEUES = new WeakHashMap<>();
+
+    private final ServerLevel level;
+    private final Queue<Job> jobs = new ArrayDeque<>();
+
+    private SpellJobQueue(ServerLevel level) {
+        this.level = level;
+    }
+
+    public static SpellJobQueue get(ServerLevel level) {
+        return QUEUES.computeIfAbsent(level, it -> new SpellJobQueue((ServerLevel) it));
+    }
+
+    public void submit(Job job) {
+        if (job.positions.size() > ArcaneConfig.spellBlocksPerTick) {
+            jobs.add(job);
+            return;
+        }
+
+        BlockMutationBatch batch = new BlockMutationBatch(level);
+        job.run(batch, job.positions.size());
+        batch.apply();
+        job.finish();
+    }
+
+    public void tick() {
+        if (jobs.isEmpty())
+            return;
+
+        // Every job shares one batch, so blocks changed by different casts in the same section are sent together
+        BlockMutationBatch batch = new BlockMutationBatch(level);
+        List<Job> finished = new ArrayList<>();
+        int budget = ArcaneConfig.spellBlocksPerTick;
+        while (budget > 0 && !jobs.isEmpty()) {
+            Job job = jobs.peek();
+            budget -= job.run(batch, budget);
+            if (job.isDone())
+                finished.add(jobs.poll());
+        }
+
+        // Jobs only know which of their changes were rejected once the batch has been applied
+        batch.apply();
+        finished.forEach(Job::finish);
+    }
+
+    // Gives back the Aura for every job that hasn't run yet
+    private void cancel() {
+        jobs.forEach(Job::cancel);
+        jobs.clear();
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onLevelTick(final LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            SpellJobQueue queue = QUEUES.get(level);
+            if (queue != null)
+                queue.tick();
+        }
+    }
+
+    // Stopping fires before players and levels are saved, unloading a level on its own does not
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onServerStopping(final ServerStoppingEvent event) {
+        QUEUES.values().forEach(SpellJobQueue::cancel);
+        QUEUES.clear();
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onLevelUnload(final LevelEvent.Unload event) {
+        if (event.getLevel() instanceof Level level) {
+            SpellJobQueue queue = QUEUES.remove(level);
+            if (queue != null)
+                queue.cancel();
+        }
+    }
+
+    /**
+     * The remaining block changes of one cast.
+     */
+    public abstract static class Job {
+        private final CastContext context;
+        private final List<BlockPos> positions;
+        private final int costPerBlock;
+        private int next = 0;
+        private int skipped = 0;
+
+        protected Job(CastContext context, List<BlockPos> positions, int costPerBlock) {
+            this.context = context;
+            this.positions = positions;
+            this.costPerBlock = costPerBlock;
+        }
+
+        /**
+         * Adds the change for one position to the batch. Changes should pass {@link #reject()} (along with anything
+         * else to undo) as their rejection callback, so that changes the batch turns down are refunded too.
+         * @return False if the position can no longer be affected, in which case its Aura is refunded.
+         */
+        protected abstract boolean apply(BlockMutationBatch batch, BlockPos pos);
+
+        protected final void reject() {
+            skipped++;
+        }
+
+        private int run(BlockMutationBatch batch, int budget) {
+            int end = Math.min(positions.size(), next + budget);
+            int processed = end - next;
+            for (; next < end; next++)
+                if (!apply(batch, positions.get(next)))
+                    skipped++;
+            return processed;
+        }
+
+        private boolean isDone() {
+            return next >= positions.size();
+        }
+
+        private void finish() {
+            if (skipped > 0)
+                context.refund(skipped * costPerBlock);
+        }
+
+        private void cancel() {
+            skipped += positions.size() - next;
+            next = positions.size();
+            finish();
+        }
+    }
+}
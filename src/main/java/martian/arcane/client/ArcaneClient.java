@@ -1,6 +1,7 @@
 package martian.arcane.client;
 
 import martian.arcane.ArcaneMod;
+import martian.arcane.api.recipe.RecipeIndexes;
 import martian.arcane.client.gui.AuraometerOverlay;
 import martian.arcane.client.model.DynamicWandModel;
 import martian.arcane.client.particle.MagicParticleProvider;
@@ -10,12 +11,14 @@ import martian.arcane.common.block.infuser.AuraInfuserRenderer;
 import martian.arcane.common.block.pedestal.PedestalRenderer;
 import martian.arcane.common.block.spellcircle.SpellCircleRenderer;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.client.model.geom.builders.LayerDefinition;
 import net.minecraft.util.RandomSource;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.client.event.*;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
 
 @SuppressWarnings("unused")
 public class ArcaneClient {
@@ -44,6 +47,19 @@ public class ArcaneClient {
         ConnectorLinkRenderer.tick();
     }
 
+    @SubscribeEvent
+    static void onRecipesUpdated(RecipesUpdatedEvent event) {
+        RecipeIndexes.invalidate(event.getRecipeManager());
+    }
+
+    // Only the client's own recipe manager, an integrated server has already rebuilt its indexes by now
+    @SubscribeEvent
+    static void onTagsUpdated(TagsUpdatedEvent event) {
+        ClientPacketListener connection = Minecraft.getInstance().getConnection();
+        if (event.getUpdateCause() == TagsUpdatedEvent.UpdateCause.CLIENT_PACKET_RECEIVED && connection != null)
+            RecipeIndexes.invalidate(connection.getRecipeManager());
+    }
+
     static void registerGuiOverlays(RegisterGuiLayersEvent event) {
         event.registerBelowAll(ArcaneMod.id("auraometer_overlay"), new AuraometerOverlay());
     }
@@ -4,6 +4,7 @@ import com.klikli_dev.modonomicon.registry.DataComponentRegistry;
 import com.mojang.serialization.Codec;
 import martian.arcane.ArcaneConfig;
 import martian.arcane.ArcaneMod;
+import martian.arcane.api.ArcaneCapabilities;
 import martian.arcane.api.ArcaneRegistries;
 import martian.arcane.api.colour.ColourPalette;
 import martian.arcane.api.colour.UnpackedColour;
@@ -27,6 +28,7 @@ import martian.arcane.common.block.connector.BlockAuraConnector;
 import martian.arcane.common.block.connector.BlockEntityAuraConnector;
 import martian.arcane.common.block.generators.heat.BlockEntityIgnisCollector;
 import martian.arcane.common.block.generators.heat.BlockIgnisCollector;
+import martian.arcane.common.block.generators.heat.IgnisSource;
 import martian.arcane.common.block.generators.water.BlockAquaCollector;
 import martian.arcane.common.block.generators.water.BlockEntityAquaCollector;
 import martian.arcane.common.block.infuser.BlockAuraInfuser;
@@ -60,7 +62,9 @@ import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.material.Fluids;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.neoforge.attachment.AttachmentType;
+import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 import net.neoforged.neoforge.registries.*;
+import net.neoforged.neoforge.registries.datamaps.DataMapType;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
@@ -141,6 +145,12 @@ public class ArcaneContent {
     public static final DeferredHolder<DataComponentType<?>, DataComponentType<ResourceLocation>> DC_COLOUR_PALETTE = dataComponent("colour_palette", ResourceLocation.CODEC, ResourceLocation.STREAM_CODEC);
 
 
+    // Data Maps
+    public static final DataMapType<Block, IgnisSource> DM_IGNIS_SOURCES = DataMapType.builder(id("ignis_sources"), Registries.BLOCK, IgnisSource.CODEC)
+            .synced(IgnisSource.CODEC, false)
+            .build();
+
+
     // Items
     public static final DeferredItem<?>
             ITEM_AURAGLASS_BOTTLE = item("auraglass_bottle", () -> new ItemAuraglassBottle(() -> ArcaneConfig.smallAuraglassBottleAuraCapacity, () -> ArcaneConfig.smallAuraglassBottleRate)),
@@ -445,6 +455,12 @@ public class ArcaneContent {
         SPELLS.register(bus);
         PARTICLE_TYPES.register(bus);
         PIGMENTS.register(bus);
+        bus.addListener(ArcaneContent::registerCapabilities);
+    }
+
+    private static void registerCapabilities(RegisterCapabilitiesEvent event) {
+        List.of(BE_AURA_CONNECTOR, BE_AURA_BASIN, BE_PEDESTAL, BE_AURA_INFUSER, BE_SPELL_CIRCLE, BE_HEAT_COLLECTOR, BE_AQUA_COLLECTOR).forEach(type ->
+                event.registerBlockEntity(ArcaneCapabilities.AURA, type.tile().get(), (machine, side) -> machine));
     }
 
 
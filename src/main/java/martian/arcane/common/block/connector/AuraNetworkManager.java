@@ -0,0 +1,247 @@
+package martian.arcane.common.block.connector;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import martian.arcane.ArcaneMod;
+import martian.arcane.ArcaneTags;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Tracks every loaded Aura Connector in a level and settles their transfers once per tick.
+ * <p>
+ * Connectors are grouped into networks (connected components of their links). Each network is walked in link order,
+ * starting at connectors nothing links into, so aura extracted at one end of a chain can reach the other end in the
+ * same tick instead of moving one hop per tick.
+ * <p>
+ * The manager also indexes links by the chunk sections their path crosses. Block changes in those sections update the
+ * cached obstruction flag of the affected links, so connectors never have to scan their path while ticking.
+ */
+@EventBusSubscriber(modid = ArcaneMod.MODID)
+public class AuraNetworkManager {
+    private static final Map<Level, AuraNetworkManager> MANAGERS = new WeakHashMap<>();
+
+    private final ServerLevel level;
+    private final Map<BlockPos, BlockEntityAuraConnector> connectors = new HashMap<>();
+    private List<BlockEntityAuraConnector[]> networks = List.of();
+    private final Long2ObjectMap<Set<BlockEntityAuraConnector>> linksBySection = new Long2ObjectOpenHashMap<>();
+    private boolean dirty = false;
+
+    private AuraNetworkManager(ServerLevel level) {
+        this.level = level;
+    }
+
+    public static AuraNetworkManager get(ServerLevel level) {
+        return MANAGERS.computeIfAbsent(level, it -> new AuraNetworkManager((ServerLevel) it));
+    }
+
+    public void add(BlockEntityAuraConnector connector) {
+        connectors.put(connector.getBlockPos(), connector);
+        dirty = true;
+    }
+
+    public void remove(BlockEntityAuraConnector connector) {
+        if (connectors.remove(connector.getBlockPos(), connector))
+            dirty = true;
+        connector.link = null;
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public void tick() {
+        if (dirty)
+            rebuild();
+
+        for (BlockEntityAuraConnector[] network : networks)
+            for (BlockEntityAuraConnector connector : network)
+                // Connectors with a redstone signal are paused
+                if (!connector.isRemoved() && !connector.isDisabledByRedstone())
+                    connector.transferAura(level);
+    }
+
+    private void rebuild() {
+        dirty = false;
+        rebuildObstructionIndex();
+
+        // Resolve links. Only links between two loaded connectors are part of a network.
+        Map<BlockEntityAuraConnector, BlockEntityAuraConnector> links = new HashMap<>();
+        Map<BlockEntityAuraConnector, Integer> incoming = new HashMap<>();
+        Map<BlockEntityAuraConnector, BlockEntityAuraConnector> roots = new HashMap<>();
+        for (BlockEntityAuraConnector connector : List.copyOf(connectors.values())) {
+            roots.put(connector, connector);
+            incoming.putIfAbsent(connector, 0);
+            connector.link = resolveLink(connector);
+            if (connector.link != null) {
+                links.put(connector, connector.link);
+                incoming.merge(connector.link, 1, Integer::sum);
+            }
+        }
+
+        // Union-find to group connectors into networks
+        links.forEach((from, to) -> {
+            BlockEntityAuraConnector a = find(roots, from), b = find(roots, to);
+            if (a != b)
+                roots.put(a, b);
+        });
+
+        Map<BlockEntityAuraConnector, List<BlockEntityAuraConnector>> grouped = new HashMap<>();
+        for (BlockEntityAuraConnector connector : connectors.values())
+            grouped.computeIfAbsent(find(roots, connector), it -> new ArrayList<>()).add(connector);
+
+        // Order each network so that senders are always visited before their targets. Anything left over after
+        // that is part of a relay loop, which has no natural start, so it is appended as-is.
+        List<BlockEntityAuraConnector[]> built = new ArrayList<>(grouped.size());
+        for (List<BlockEntityAuraConnector> members : grouped.values()) {
+            List<BlockEntityAuraConnector> ordered = new ArrayList<>(members.size());
+            Set<BlockEntityAuraConnector> visited = new HashSet<>();
+            Deque<BlockEntityAuraConnector> queue = new ArrayDeque<>();
+            for (BlockEntityAuraConnector member : members)
+                if (incoming.get(member) == 0)
+                    queue.add(member);
+
+            while (!queue.isEmpty()) {
+                BlockEntityAuraConnector current = queue.poll();
+                if (!visited.add(current))
+                    continue;
+                ordered.add(current);
+
+                BlockEntityAuraConnector next = links.get(current);
+                if (next != null && incoming.merge(next, -1, Integer::sum) == 0)
+                    queue.add(next);
+            }
+
+            for (BlockEntityAuraConnector member : members)
+                if (!visited.contains(member))
+                    ordered.add(member);
+
+            built.add(ordered.toArray(BlockEntityAuraConnector[]::new));
+        }
+
+        networks = built;
+    }
+
+    /**
+     * Validates a connector's link. This only happens when connectors are loaded, unloaded, removed or change, since
+     * any of those mark the manager dirty.
+     */
+    private @Nullable BlockEntityAuraConnector resolveLink(BlockEntityAuraConnector connector) {
+        BlockPos targetPos = connector.targetPos;
+        if (targetPos == null)
+            return null;
+
+        BlockEntityAuraConnector target = connectors.get(targetPos);
+        if (target == null) {
+            // An unloaded target keeps the link so transfers resume once it loads again. A loaded position without a
+            // connector means the target was broken.
+            if (level.isLoaded(targetPos) && !(level.getBlockEntity(targetPos) instanceof BlockEntityAuraConnector))
+                connector.removeTarget();
+            return null;
+        }
+
+        if (target == connector || !BlockEntityAuraConnector.isValidTarget(target)) {
+            connector.removeTarget();
+            return null;
+        }
+
+        return target;
+    }
+
+    private void rebuildObstructionIndex() {
+        linksBySection.clear();
+        for (BlockEntityAuraConnector connector : connectors.values()) {
+            if (connector.targetPos == null)
+                continue;
+
+            for (BlockPos pos : connector.blocksToWatch)
+                linksBySection.computeIfAbsent(sectionKey(pos), it -> new HashSet<>()).add(connector);
+
+            if (connector.obstructionsStale)
+                connector.refreshObstructions(level);
+        }
+    }
+
+    private void blockChanged(BlockPos pos, BlockState newState) {
+        Set<BlockEntityAuraConnector> links = linksBySection.get(sectionKey(pos));
+        if (links == null)
+            return;
+
+        for (BlockEntityAuraConnector connector : links) {
+            if (connector.isRemoved() || !connector.blocksToWatch.contains(pos))
+                continue;
+
+            if (newState.is(ArcaneTags.BLOCKS_AURA_FLOW))
+                connector.obstructed = true;
+            // Another block along the link may still be in the way
+            else if (connector.obstructed)
+                connector.refreshObstructions(level);
+        }
+    }
+
+    private static long sectionKey(BlockPos pos) {
+        return SectionPos.asLong(
+                SectionPos.blockToSectionCoord(pos.getX()),
+                SectionPos.blockToSectionCoord(pos.getY()),
+                SectionPos.blockToSectionCoord(pos.getZ())
+        );
+    }
+
+    // Invoked from ServerLevelMixin whenever a block in a server level changes
+    public static void onBlockStateChange(ServerLevel level, BlockPos pos, BlockState newState) {
+        AuraNetworkManager manager = MANAGERS.get(level);
+        if (manager != null)
+            manager.blockChanged(pos, newState);
+    }
+
+    private static BlockEntityAuraConnector find(Map<BlockEntityAuraConnector, BlockEntityAuraConnector> roots, BlockEntityAuraConnector connector) {
+        BlockEntityAuraConnector root = connector;
+        while (roots.get(root) != root)
+            root = roots.get(root);
+        // Path compression
+        while (connector != root) {
+            BlockEntityAuraConnector next = roots.get(connector);
+            roots.put(connector, root);
+            connector = next;
+        }
+        return root;
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onLevelTick(final LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            AuraNetworkManager manager = MANAGERS.get(level);
+            if (manager != null)
+                manager.tick();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onTagsUpdated(final TagsUpdatedEvent event) {
+        // The contents of the blocks_aura_flow tag may have changed, so every link needs to be checked again
+        for (AuraNetworkManager manager : MANAGERS.values()) {
+            manager.connectors.values().forEach(connector -> connector.obstructionsStale = true);
+            manager.dirty = true;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onLevelUnload(final LevelEvent.Unload event) {
+        if (event.getLevel() instanceof Level level)
+            MANAGERS.remove(level);
+    }
+}
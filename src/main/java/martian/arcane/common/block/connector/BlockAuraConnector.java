@@ -3,7 +3,6 @@ package martian.arcane.common.block.connector;
 import martian.arcane.api.block.AbstractAuraMachine;
 import martian.arcane.api.block.BlockHelpers;
 import martian.arcane.api.item.IAuraConfigurator;
-import martian.arcane.common.ArcaneContent;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.world.InteractionHand;
@@ -14,9 +13,6 @@ import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.entity.BlockEntityTicker;
-import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
@@ -71,12 +67,6 @@ public class BlockAuraConnector extends AbstractAuraMachine {
         return SHAPES.get(state.getValue(FACING));
     }
 
-    @Override
-    @ParametersAreNonnullByDefault
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
-        return type == ArcaneContent.BE_AURA_CONNECTOR.tile().get() ? BlockEntityAuraConnector::tick : null;
-    }
-
     @Override
     protected void createBlockStateDefinition(StateDefinition.Builder<Block, BlockState> builder) {
         builder.add(FACING);
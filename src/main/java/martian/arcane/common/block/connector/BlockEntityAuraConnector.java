@@ -2,6 +2,7 @@ package martian.arcane.common.block.connector;
 
 import martian.arcane.ArcaneConfig;
 import martian.arcane.ArcaneTags;
+import martian.arcane.api.ArcaneCapabilities;
 import martian.arcane.api.NBTHelpers;
 import martian.arcane.api.Raycasting;
 import martian.arcane.api.aura.IMutableAuraStorage;
@@ -14,15 +15,17 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class BlockEntityAuraConnector extends AbstractAuraBlockEntity {
     public enum Mode {
@@ -31,10 +34,16 @@ public class BlockEntityAuraConnector extends AbstractAuraBlockEntity {
         EXTRACT
     }
 
-    public @Nullable IMutableAuraStorage target = null;
-    public List<BlockPos> blocksToWatch = new ArrayList<>();
+    public Set<BlockPos> blocksToWatch = new HashSet<>();
+    // Kept up to date by the AuraNetworkManager when blocks along the link change
+    public boolean obstructed = false;
+    boolean obstructionsStale = false;
     public @Nullable BlockPos targetPos;
     public Mode mode = Mode.RELAY;
+    // The loaded connector at targetPos, kept up to date by the AuraNetworkManager as connectors load, unload and change
+    @Nullable BlockEntityAuraConnector link = null;
+    // Only created on the server, the first time it is needed
+    private @Nullable BlockCapabilityCache<IMutableAuraStorage, @Nullable Direction> attachedStorage = null;
 
     public BlockEntityAuraConnector(BlockPos pos, BlockState state) {
         super(ArcaneConfig.auraConnectorsAuraCapacity, false, true, ArcaneContent.BE_AURA_CONNECTOR.tile().get(), pos, state);
@@ -45,6 +54,11 @@ public class BlockEntityAuraConnector extends AbstractAuraBlockEntity {
         return true;
     }
 
+    @Override
+    protected boolean isRedstoneControlled() {
+        return true;
+    }
+
     @Override
     public void saveAdditional(@NotNull CompoundTag nbt, HolderLookup.@NotNull Provider provider) {
         super.saveAdditional(nbt, provider);
@@ -63,6 +77,8 @@ public class BlockEntityAuraConnector extends AbstractAuraBlockEntity {
             targetPos = NBTHelpers.getBlockPos(nbt, NBTHelpers.KEY_EXTRACTOR_TARGET_POS);
         else
             targetPos = null;
+        link = null;
+        updateBlocksToWatch();
     }
 
     @Override
@@ -81,13 +97,8 @@ public class BlockEntityAuraConnector extends AbstractAuraBlockEntity {
         return super.getText(text, context);
     }
 
-    public boolean validateTarget(Level level) {
-        if (targetPos == null)
-            return false;
-        BlockState target = level.getBlockState(targetPos);
-        return target.getBlock() instanceof BlockAuraConnector &&
-                level.getBlockEntity(targetPos) instanceof BlockEntityAuraConnector connector &&
-                connector.mode != Mode.EXTRACT;
+    public static boolean isValidTarget(BlockEntityAuraConnector target) {
+        return target.mode != Mode.EXTRACT;
     }
 
     public boolean hasObstructions(Level level) {
@@ -96,93 +107,101 @@ public class BlockEntityAuraConnector extends AbstractAuraBlockEntity {
                 .anyMatch(state -> state.is(ArcaneTags.BLOCKS_AURA_FLOW));
     }
 
+    public void refreshObstructions(Level level) {
+        obstructed = hasObstructions(level);
+        obstructionsStale = false;
+    }
+
+    private void updateBlocksToWatch() {
+        blocksToWatch = targetPos == null ?
+                new HashSet<>() :
+                new HashSet<>(Raycasting.getBlockPositionsBetween(getBlockPos(), targetPos));
+        obstructed = false;
+        obstructionsStale = targetPos != null;
+    }
+
     public void cycleMode() {
         mode = switch (mode) {
             case RELAY -> Mode.INSERT;
             case INSERT -> Mode.EXTRACT;
             case EXTRACT -> Mode.RELAY;
         };
+        markNetworkDirty();
     }
 
     public void setTarget(@NotNull BlockEntityAuraConnector target) {
         targetPos = target.getBlockPos();
         BlockHelpers.sync(this);
-        blocksToWatch = Raycasting.raycastAndGetBlockPositions(level, getBlockPos(), target.getBlockPos());
+        updateBlocksToWatch();
+        markNetworkDirty();
     }
 
     public void removeTarget() {
         targetPos = null;
-        target = null;
-        blocksToWatch.clear();
+        link = null;
+        updateBlocksToWatch();
         BlockHelpers.sync(this);
+        markNetworkDirty();
     }
 
-    public static <T extends BlockEntity> void tick(Level level, BlockPos pos, BlockState state, T blockEntity) {
-        if (!level.isClientSide && blockEntity instanceof BlockEntityAuraConnector connector) {
-            AbstractAuraBlockEntity.tickForAuraLoss(level, connector);
-
-            // If there is a redstone signal coming into this block then we stop now
-            if (level.hasNeighborSignal(pos))
-                return;
-
-            if (connector.mode != Mode.INSERT) {
-                // If targetPos is null we need to clear the cachedTarget and sync the extractor
-                if (connector.targetPos == null && connector.target != null)
-                    connector.removeTarget();
-                // Refresh the cached target if cachedTarget is not present but targetPos is
-                else if (connector.target == null && connector.targetPos != null) {
-                    BlockEntity e = level.getBlockEntity(connector.targetPos);
-                    if (e instanceof IMutableAuraStorage be)
-                        connector.target = be;
-                    else
-                        connector.removeTarget();
-                }
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level instanceof ServerLevel serverLevel)
+            AuraNetworkManager.get(serverLevel).add(this);
+    }
 
-                if (connector.targetPos != null && !connector.validateTarget(level))
-                    connector.removeTarget();
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (level instanceof ServerLevel serverLevel)
+            AuraNetworkManager.get(serverLevel).remove(this);
+    }
 
-                // Check for blocks that obstruct aura flow
-                if (connector.hasObstructions(level))
-                    return;
-            }
+    private void markNetworkDirty() {
+        if (level instanceof ServerLevel serverLevel)
+            AuraNetworkManager.get(serverLevel).markDirty();
+    }
+
+    private BlockCapabilityCache<IMutableAuraStorage, @Nullable Direction> getAttachedStorage(ServerLevel level) {
+        Direction facing = getBlockState().getValue(BlockAuraConnector.FACING);
+        BlockPos attachedPos = getBlockPos().relative(facing);
+        if (attachedStorage == null || !attachedStorage.pos().equals(attachedPos))
+            attachedStorage = BlockCapabilityCache.create(ArcaneCapabilities.AURA, level, attachedPos, facing.getOpposite());
+        return attachedStorage;
+    }
 
-            connector.voidMapAuraStorage(storage -> {
-                switch (connector.mode) {
-                    case RELAY -> {
-                        // Send aura to the target inserter if able
-                        if (connector.target != null)
-                            storage.sendAuraTo(connector.target, connector.getTier().ioRate());
-                    }
-                    case INSERT -> {
-                        Direction facing = state.getValue(BlockAuraConnector.FACING);
-                        BlockPos insertTarget = pos.offset(facing.getStepX(), facing.getStepY(), facing.getStepZ());
-                        if (!level.getBlockState(insertTarget).hasBlockEntity())
-                            break;
-
-                        BlockEntity e = level.getBlockEntity(insertTarget);
-                        if (e == null)
-                            break;
-
-                        if (e instanceof IMutableAuraStorage eAura)
-                            connector.voidMapAuraStorage(aura -> aura.sendAuraTo(eAura, connector.getTier().ioRate()));
-                    }
-                    case EXTRACT -> {
-                        // Extract aura from the target block
-                        Direction facing = state.getValue(BlockAuraConnector.FACING);
-                        BlockPos extractFrom = pos.offset(facing.getStepX(), facing.getStepY(), facing.getStepZ());
-                        BlockEntity e = level.getBlockEntity(extractFrom);
-                        if (e == null)
-                            break;
-
-                        if (e instanceof IMutableAuraStorage eAura)
-                            storage.extractAuraFrom(eAura, connector.getTier().ioRate());
-
-                        // Send aura to the target inserter if able
-                        if (connector.target != null)
-                            storage.sendAuraTo(connector.target, connector.getTier().ioRate());
-                    }
+    // Invoked by the AuraNetworkManager once per tick, after every connector linking into this one
+    void transferAura(ServerLevel level) {
+        // Check for blocks that obstruct aura flow
+        if (mode != Mode.INSERT && obstructed)
+            return;
+
+        // The link is only cleared on the next rebuild, so it may have been removed earlier this tick
+        final IMutableAuraStorage target = mode != Mode.INSERT && link != null && !link.isRemoved() ? link : null;
+        voidMapAuraStorage(storage -> {
+            switch (mode) {
+                case RELAY -> {
+                    // Send aura to the target inserter if able
+                    if (target != null)
+                        storage.sendAuraTo(target, getTier().ioRate());
                 }
-            });
-        }
+                case INSERT -> {
+                    IMutableAuraStorage attached = getAttachedStorage(level).getCapability();
+                    if (attached != null)
+                        storage.sendAuraTo(attached, getTier().ioRate());
+                }
+                case EXTRACT -> {
+                    // Extract aura from the block this connector is attached to
+                    IMutableAuraStorage attached = getAttachedStorage(level).getCapability();
+                    if (attached != null)
+                        storage.extractAuraFrom(attached, getTier().ioRate());
+
+                    // Send aura to the target inserter if able
+                    if (target != null)
+                        storage.sendAuraTo(target, getTier().ioRate());
+                }
+            }
+        });
     }
 }
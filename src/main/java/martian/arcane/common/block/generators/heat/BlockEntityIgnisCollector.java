@@ -1,21 +1,25 @@
 package martian.arcane.common.block.generators.heat;
 
 import martian.arcane.ArcaneConfig;
-import martian.arcane.ArcaneMod;
+import martian.arcane.api.NBTHelpers;
+import martian.arcane.api.block.BlockHelpers;
 import martian.arcane.api.block.entity.AbstractAuraBlockEntity;
 import martian.arcane.api.block.entity.IAuraometerOutput;
 import martian.arcane.common.ArcaneContent;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 
 public class BlockEntityIgnisCollector extends AbstractAuraBlockEntity {
-    private int ticksToNextCollect = 0;
+    private long nextCollectTime = NEVER;
 
     public BlockEntityIgnisCollector(BlockPos pos, BlockState state) {
         super(ArcaneConfig.collectorsAuraCapacity, true, false, ArcaneContent.BE_HEAT_COLLECTOR.tile().get(), pos, state);
@@ -25,22 +29,80 @@ public class BlockEntityIgnisCollector extends AbstractAuraBlockEntity {
         if (level != null)
             text.add(Component
                     .translatable("messages.arcane.generating")
-                    .append(Integer.toString(getAuraToGenerate(level, getBlockPos())))
+                    .append(Integer.toString(getGenerationRate()))
                     .withStyle(ChatFormatting.RED));
 
         return super.getText(text, context);
     }
 
+    // Cached result of getAuraToGenerate, only recomputed after the block is told a neighbour changed
+    private int generationRate = 0;
+    private boolean generationRateStale = true;
+    // Ignis sources can also change when datapacks are reloaded
+    private int sourcesVersion = -1;
+
+    public int getGenerationRate() {
+        if ((generationRateStale || sourcesVersion != IgnisSources.getVersion()) && level != null) {
+            sourcesVersion = IgnisSources.getVersion();
+            int previous = generationRate;
+            generationRate = getAuraToGenerate(level, getBlockPos());
+            generationRateStale = false;
+            if (!level.isClientSide && generationRate != previous)
+                BlockHelpers.sync(this);
+        }
+        return generationRate;
+    }
+
+    public void invalidateGenerationRate() {
+        generationRateStale = true;
+    }
+
+    @Override
+    @NotNull
+    public CompoundTag getUpdateTag(HolderLookup.@NotNull Provider registries) {
+        CompoundTag tag = super.getUpdateTag(registries);
+        tag.putInt(NBTHelpers.KEY_GENERATION_RATE, getGenerationRate());
+        return tag;
+    }
+
+    @Override
+    public void loadAdditional(@NotNull CompoundTag nbt, HolderLookup.@NotNull Provider provider) {
+        super.loadAdditional(nbt, provider);
+        // Only present in update packets, saved collectors look at their surroundings again once loaded
+        if (nbt.contains(NBTHelpers.KEY_GENERATION_RATE)) {
+            generationRate = nbt.getInt(NBTHelpers.KEY_GENERATION_RATE);
+            generationRateStale = false;
+            sourcesVersion = IgnisSources.getVersion();
+        }
+    }
+
     public static int getAuraToGenerate(Level level, BlockPos pos) {
-        return ArcaneMod.getIgnisGenAmountForState(level.getBlockState(pos.below()));
+        return IgnisSources.getAmount(level.getBlockState(pos.below()));
+    }
+
+    @Override
+    public void onLoad() {
+        if (level != null)
+            nextCollectTime = level.getGameTime() + Math.max(ArcaneConfig.ignisCollectorSpeed, 1);
+        super.onLoad();
+    }
+
+    @Override
+    protected boolean hasAuraLoss() {
+        return false;
+    }
+
+    @Override
+    protected long getNextWakeTime() {
+        return Math.min(super.getNextWakeTime(), nextCollectTime);
     }
 
-    public static <T extends BlockEntity> void tick(Level level, BlockPos pos, BlockState ignoredState, T blockEntity) {
-        if (blockEntity instanceof BlockEntityIgnisCollector collector) {
-            if (++collector.ticksToNextCollect >= ArcaneConfig.ignisCollectorSpeed) {
-                collector.addAura(getAuraToGenerate(level, pos));
-                collector.ticksToNextCollect = 0;
-            }
+    @Override
+    protected void onWake(ServerLevel level, long gameTime) {
+        super.onWake(level, gameTime);
+        if (nextCollectTime <= gameTime) {
+            nextCollectTime = gameTime + Math.max(ArcaneConfig.ignisCollectorSpeed, 1);
+            addAura(getGenerationRate());
         }
     }
 }
@@ -2,12 +2,13 @@ package martian.arcane.common.block.generators.heat;
 
 import martian.arcane.api.block.BlockHelpers;
 import martian.arcane.api.block.AbstractAuraMachine;
-import martian.arcane.common.ArcaneContent;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.entity.BlockEntityTicker;
-import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -18,7 +19,18 @@ public class BlockIgnisCollector extends AbstractAuraMachine {
 
     @Override
     @ParametersAreNonnullByDefault
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
-        return !level.isClientSide && type == ArcaneContent.BE_HEAT_COLLECTOR.tile().get() ? BlockEntityIgnisCollector::tick : null;
+    public void neighborChanged(BlockState state, Level level, BlockPos pos, Block fromBlock, BlockPos fromPos, boolean isMoving) {
+        super.neighborChanged(state, level, pos, fromBlock, fromPos, isMoving);
+        if (fromPos.equals(pos.below()) && level.getBlockEntity(pos) instanceof BlockEntityIgnisCollector collector)
+            collector.invalidateGenerationRate();
+    }
+
+    @Override
+    @NotNull
+    @ParametersAreNonnullByDefault
+    public BlockState updateShape(BlockState state, Direction direction, BlockState neighborState, LevelAccessor level, BlockPos pos, BlockPos neighborPos) {
+        if (direction == Direction.DOWN && level.getBlockEntity(pos) instanceof BlockEntityIgnisCollector collector)
+            collector.invalidateGenerationRate();
+        return super.updateShape(state, direction, neighborState, level, pos, neighborPos);
     }
 }
@@ -0,0 +1,28 @@
+package martian.arcane.common.block.generators.heat;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.advancements.critereon.StatePropertiesPredicate;
+import net.minecraft.util.ExtraCodecs;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Optional;
+
+/**
+ * Data map value for {@link martian.arcane.common.ArcaneContent#DM_IGNIS_SOURCES}: how much aura an Ignis Collector
+ * generates when placed above the block, optionally only for states matching {@code state}.
+ */
+public record IgnisSource(int amount, Optional<StatePropertiesPredicate> state) {
+    public static final Codec<IgnisSource> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            ExtraCodecs.POSITIVE_INT.fieldOf("amount").forGetter(IgnisSource::amount),
+            StatePropertiesPredicate.CODEC.optionalFieldOf("state").forGetter(IgnisSource::state)
+    ).apply(instance, IgnisSource::new));
+
+    public IgnisSource(int amount) {
+        this(amount, Optional.empty());
+    }
+
+    public boolean matches(BlockState blockState) {
+        return state.map(predicate -> predicate.matches(blockState)).orElse(true);
+    }
+}
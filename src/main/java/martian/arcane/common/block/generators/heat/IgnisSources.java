@@ -0,0 +1,61 @@
+package martian.arcane.common.block.generators.heat;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMaps;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import martian.arcane.ArcaneMod;
+import martian.arcane.common.ArcaneContent;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.registries.datamaps.DataMapsUpdatedEvent;
+
+/**
+ * Compiled lookup of {@link IgnisSource} data for every block state.
+ * <p>
+ * The data map is keyed by block, but collectors care about states (a campfire only generates while lit), so whenever
+ * the data map is (re)loaded every state of every listed block is tested once and the result is stored in an
+ * identity-keyed table. Lookups are then a single hash probe with no predicate evaluation.
+ */
+@EventBusSubscriber(modid = ArcaneMod.MODID)
+public class IgnisSources {
+    private static volatile Reference2IntMap<BlockState> amounts = Reference2IntMaps.emptyMap();
+    private static volatile int version = 0;
+
+    public static int getAmount(BlockState state) {
+        return amounts.getInt(state);
+    }
+
+    // Incremented every time the table is recompiled, so anything caching amounts can tell when to look again
+    public static int getVersion() {
+        return version;
+    }
+
+    private static void compile(Registry<Block> registry) {
+        Reference2IntOpenHashMap<BlockState> compiled = new Reference2IntOpenHashMap<>();
+        compiled.defaultReturnValue(0);
+
+        registry.getDataMap(ArcaneContent.DM_IGNIS_SOURCES).forEach((key, source) -> {
+            Block block = registry.get(key);
+            if (block == null)
+                return;
+
+            for (BlockState state : block.getStateDefinition().getPossibleStates())
+                if (source.matches(state))
+                    compiled.put(state, source.amount());
+        });
+
+        compiled.trim();
+        amounts = compiled;
+        version++;
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onDataMapsUpdated(final DataMapsUpdatedEvent event) {
+        event.ifRegistry(Registries.BLOCK, IgnisSources::compile);
+    }
+}
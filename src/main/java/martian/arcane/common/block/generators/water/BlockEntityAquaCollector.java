@@ -1,21 +1,26 @@
 package martian.arcane.common.block.generators.water;
 
 import martian.arcane.ArcaneConfig;
+import martian.arcane.api.NBTHelpers;
+import martian.arcane.api.block.BlockHelpers;
 import martian.arcane.api.block.entity.AbstractAuraBlockEntity;
 import martian.arcane.api.block.entity.IAuraometerOutput;
 import martian.arcane.common.ArcaneContent;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 
 public class BlockEntityAquaCollector extends AbstractAuraBlockEntity {
-    private int ticksToNextCollect = 0;
+    private long nextCollectTime = NEVER;
 
     public BlockEntityAquaCollector(BlockPos pos, BlockState state) {
         super(ArcaneConfig.collectorsAuraCapacity, true, false, ArcaneContent.BE_AQUA_COLLECTOR.tile().get(), pos, state);
@@ -25,12 +30,49 @@ public class BlockEntityAquaCollector extends AbstractAuraBlockEntity {
         if (level != null)
             text.add(Component
                     .translatable("messages.arcane.generating")
-                    .append(Integer.toString(getAuraToGenerate(level, getBlockPos())))
+                    .append(Integer.toString(getGenerationRate()))
                     .withStyle(ChatFormatting.RED));
 
         return super.getText(text, context);
     }
 
+    // Cached result of getAuraToGenerate, only recomputed after water next to the collector changed
+    private int generationRate = 0;
+    private boolean generationRateStale = true;
+
+    public int getGenerationRate() {
+        if (generationRateStale && level != null) {
+            int previous = generationRate;
+            generationRate = getAuraToGenerate(level, getBlockPos());
+            generationRateStale = false;
+            if (!level.isClientSide && generationRate != previous)
+                BlockHelpers.sync(this);
+        }
+        return generationRate;
+    }
+
+    public void invalidateGenerationRate() {
+        generationRateStale = true;
+    }
+
+    @Override
+    @NotNull
+    public CompoundTag getUpdateTag(HolderLookup.@NotNull Provider registries) {
+        CompoundTag tag = super.getUpdateTag(registries);
+        tag.putInt(NBTHelpers.KEY_GENERATION_RATE, getGenerationRate());
+        return tag;
+    }
+
+    @Override
+    public void loadAdditional(@NotNull CompoundTag nbt, HolderLookup.@NotNull Provider provider) {
+        super.loadAdditional(nbt, provider);
+        // Only present in update packets, saved collectors look at their surroundings again once loaded
+        if (nbt.contains(NBTHelpers.KEY_GENERATION_RATE)) {
+            generationRate = nbt.getInt(NBTHelpers.KEY_GENERATION_RATE);
+            generationRateStale = false;
+        }
+    }
+
     private static final BlockPos[] posOffsets = new BlockPos[]{
             new BlockPos(1, 0, 0),
             new BlockPos(-1, 0, 0),
@@ -42,6 +84,21 @@ public class BlockEntityAquaCollector extends AbstractAuraBlockEntity {
             new BlockPos(1, 0, 1),
     };
 
+    /**
+     * Called for every block change in a server level, see ServerLevelMixin. Half of the cells the collector looks at
+     * are diagonal and never send it a neighbour update, so collectors are told about water changes from here instead.
+     */
+    public static void onBlockStateChange(ServerLevel level, BlockPos pos, BlockState oldState, BlockState newState) {
+        if (oldState.is(Blocks.WATER) == newState.is(Blocks.WATER))
+            return;
+
+        for (BlockPos offset : posOffsets) {
+            BlockPos collectorPos = pos.subtract(offset);
+            if (level.isLoaded(collectorPos) && level.getBlockEntity(collectorPos) instanceof BlockEntityAquaCollector collector)
+                collector.invalidateGenerationRate();
+        }
+    }
+
     public static int getAuraToGenerate(Level level, BlockPos pos) {
         int sources = 0;
         BlockState curState;
@@ -54,13 +111,27 @@ public class BlockEntityAquaCollector extends AbstractAuraBlockEntity {
         return Math.floorDiv(sources, 2);
     }
 
-    public static <T extends BlockEntity> void tick(Level level, BlockPos pos, BlockState ignoredState, T blockEntity) {
-        if (blockEntity instanceof BlockEntityAquaCollector collector) {
-            AbstractAuraBlockEntity.tickForAuraLoss(level, collector);
-            if (++collector.ticksToNextCollect >= ArcaneConfig.aquaCollectorSpeed) {
-                collector.mapAuraStorage(aura -> aura.addAura(getAuraToGenerate(level, pos)));
-                collector.ticksToNextCollect = 0;
-            }
+    @Override
+    public void onLoad() {
+        // Water around the collector may have changed while it was unloaded, only clients trust the synced rate
+        if (level != null && !level.isClientSide)
+            invalidateGenerationRate();
+        if (level != null)
+            nextCollectTime = level.getGameTime() + Math.max(ArcaneConfig.aquaCollectorSpeed, 1);
+        super.onLoad();
+    }
+
+    @Override
+    protected long getNextWakeTime() {
+        return Math.min(super.getNextWakeTime(), nextCollectTime);
+    }
+
+    @Override
+    protected void onWake(ServerLevel level, long gameTime) {
+        super.onWake(level, gameTime);
+        if (nextCollectTime <= gameTime) {
+            nextCollectTime = gameTime + Math.max(ArcaneConfig.aquaCollectorSpeed, 1);
+            mapAuraStorage(aura -> aura.addAura(getGenerationRate()));
         }
     }
 }
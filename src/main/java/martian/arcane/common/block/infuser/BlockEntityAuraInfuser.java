@@ -1,10 +1,12 @@
 package martian.arcane.common.block.infuser;
 
 import martian.arcane.ArcaneConfig;
+import martian.arcane.ArcaneMod;
 import martian.arcane.api.NBTHelpers;
-import martian.arcane.api.block.entity.AbstractAuraBlockEntity;
 import martian.arcane.api.block.entity.AbstractAuraBlockEntityWithSingleItem;
 import martian.arcane.api.block.entity.IAuraometerOutput;
+import martian.arcane.api.machine.MachineTier;
+import martian.arcane.api.recipe.RecipeIndexes;
 import martian.arcane.common.ArcaneContent;
 import martian.arcane.common.recipe.RecipeAuraInfusion;
 import net.minecraft.ChatFormatting;
@@ -15,18 +17,33 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.RecipeHolder;
-import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
 
+@EventBusSubscriber(modid = ArcaneMod.MODID)
 public class BlockEntityAuraInfuser extends AbstractAuraBlockEntityWithSingleItem implements IAuraometerOutput {
+    // Infusers loaded on the server, which look their recipe up again after a reload since idle ones aren't scheduled
+    private static final Set<BlockEntityAuraInfuser> LOADED = Collections.newSetFromMap(new WeakHashMap<>());
+
     public int auraProgress = 0;
     public boolean isActive = false;
+    private @Nullable ItemStack cachedRecipeStack = null;
+    private int cachedRecipeVersion = -1;
+    private Optional<RecipeHolder<RecipeAuraInfusion>> cachedRecipe = Optional.empty();
 
     public BlockEntityAuraInfuser(BlockPos pos, BlockState state) {
         super(ArcaneConfig.auraInfuserAuraCapacity, false, true, ArcaneContent.BE_AURA_INFUSER.tile().get(), pos, state);
@@ -37,6 +54,19 @@ public class BlockEntityAuraInfuser extends AbstractAuraBlockEntityWithSingleIte
         return true;
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide)
+            LOADED.add(this);
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        LOADED.remove(this);
+    }
+
     @Override
     public void saveAdditional(@NotNull CompoundTag nbt, HolderLookup.@NotNull Provider provider) {
         nbt.putInt(NBTHelpers.KEY_AURA_PROGRESS, auraProgress);
@@ -90,46 +120,103 @@ public class BlockEntityAuraInfuser extends AbstractAuraBlockEntityWithSingleIte
     }
 
     public Optional<RecipeHolder<RecipeAuraInfusion>> getRecipe(boolean ignoreAura) {
+        Optional<RecipeHolder<RecipeAuraInfusion>> recipe = getCachedRecipe();
+        return ignoreAura ? recipe : recipe.filter(it -> auraProgress >= it.value().aura);
+    }
+
+    // The recipe for the held stack, ignoring aura, is only looked up again when the stack or the recipes change
+    private Optional<RecipeHolder<RecipeAuraInfusion>> getCachedRecipe() {
         if (getLevel() == null)
             return Optional.empty();
-        return RecipeAuraInfusion.getRecipeFor(getLevel(), new RecipeAuraInfusion.Container(this.getItem(), this.auraProgress), ignoreAura);
+
+        int version = RecipeIndexes.getVersion(getLevel().getRecipeManager());
+        if (cachedRecipeStack == null || cachedRecipeVersion != version || !ItemStack.matches(cachedRecipeStack, getItem())) {
+            cachedRecipeStack = getItem().copy();
+            cachedRecipeVersion = version;
+            cachedRecipe = getItem().isEmpty() ?
+                    Optional.empty() :
+                    RecipeAuraInfusion.getRecipeFor(getLevel(), new RecipeAuraInfusion.Container(getItem(), auraProgress), true);
+        }
+
+        return cachedRecipe;
     }
 
-    public static <T extends BlockEntity> void tick(Level level, BlockPos pos, BlockState state, T entity) {
-        if (level.isClientSide)
-            return;
+    private void invalidateRecipe() {
+        cachedRecipeStack = null;
+        scheduleNextWake();
+    }
+
+    // Runs after the new recipes have had their tags bound
+    @SuppressWarnings("unused")
+    @SubscribeEvent(priority = EventPriority.LOW)
+    static void onTagsUpdated(final TagsUpdatedEvent event) {
+        if (event.getUpdateCause() == TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD)
+            LOADED.forEach(BlockEntityAuraInfuser::invalidateRecipe);
+    }
+
+    @Override
+    protected void onItemChanged() {
+        invalidateRecipe();
+    }
 
-        if (entity instanceof BlockEntityAuraInfuser infuser) {
-            AbstractAuraBlockEntity.tickForAuraLoss(level, infuser);
+    @Override
+    public boolean upgradeTo(MachineTier newTier) {
+        boolean upgraded = super.upgradeTo(newTier);
+        invalidateRecipe();
+        return upgraded;
+    }
 
-            if (level.hasNeighborSignal(pos))
-                return;
+    @Override
+    protected boolean isRedstoneControlled() {
+        return true;
+    }
 
-            //FIXME: Cache current recipe?
-            Optional<RecipeHolder<RecipeAuraInfusion>> optionalRecipe = infuser.getRecipe(true);
-            if (optionalRecipe.isEmpty())
-                return;
+    @Override
+    protected long getNextWakeTime() {
+        long next = super.getNextWakeTime();
+        if (level == null)
+            return next;
+
+        // Without a recipe, or without aura to put into it, there is nothing to do until either changes
+        Optional<RecipeHolder<RecipeAuraInfusion>> recipe = getCachedRecipe();
+        if (recipe.isEmpty())
+            return next;
+
+        int recipeAura = recipe.get().value().aura;
+        if (auraProgress >= recipeAura || getAura() > 0)
+            return Math.min(next, level.getGameTime() + 1);
+        return next;
+    }
 
-            if (!infuser.isActive)
-                infuser.isActive = true;
+    @Override
+    protected void onWake(ServerLevel level, long gameTime) {
+        super.onWake(level, gameTime);
 
-            RecipeAuraInfusion recipe = optionalRecipe.get().value();
+        Optional<RecipeHolder<RecipeAuraInfusion>> optionalRecipe = getCachedRecipe();
+        if (optionalRecipe.isEmpty())
+            return;
+
+        if (!isActive)
+            isActive = true;
+
+        RecipeAuraInfusion recipe = optionalRecipe.get().value();
+        BlockPos pos = getBlockPos();
+        BlockState state = getBlockState();
+
+        if (getAura() > 0 && auraProgress < recipe.aura) {
+            int auraToAdd = recipe.aura;
+            if (auraToAdd > getAura())
+                auraToAdd = getAura();
+
+            auraProgress += auraToAdd;
+            removeAura(auraToAdd);
+            level.sendBlockUpdated(pos, state, state, 2);
+        }
 
-            if (infuser.getAura() > 0 && infuser.auraProgress < recipe.aura) {
-                int auraToAdd = recipe.aura;
-                if (auraToAdd > infuser.getAura())
-                    auraToAdd = infuser.getAura();
-
-                infuser.auraProgress += auraToAdd;
-                infuser.removeAura(auraToAdd);
-                level.sendBlockUpdated(pos, state, state, 2);
-            }
-
-            if (infuser.auraProgress >= recipe.aura) {
-                recipe.assemble(infuser);
-                infuser.isActive = false;
-                level.sendBlockUpdated(pos, state, state, 2);
-            }
+        if (auraProgress >= recipe.aura) {
+            recipe.assemble(this);
+            isActive = false;
+            level.sendBlockUpdated(pos, state, state, 2);
         }
     }
 }
@@ -24,6 +24,11 @@ public class BlockEntityPedestal extends AbstractAuraBlockEntityWithSingleItem i
         return true;
     }
 
+    @Override
+    protected boolean hasAuraLoss() {
+        return false;
+    }
+
     @Override
     public List<Component> getText(List<Component> text, IAuraometerOutput.Context context) {
         super.getText(text, context);
@@ -203,9 +203,8 @@ public class BlockPedestal extends Block implements EntityBlock {
         super.neighborChanged(state, level, pos, fromBlock, fromPos, isMoving);
         if (
             level.getBlockEntity(pos) instanceof BlockEntityPedestal pedestal &&
-            pedestal.hasSignal != level.hasNeighborSignal(pos)
+            pedestal.updateSignal()
         ) {
-            pedestal.hasSignal = !pedestal.hasSignal;
             level.updateNeighbourForOutputSignal(pos, this);
             BlockHelpers.sync(pedestal);
         }
@@ -20,8 +20,7 @@ import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,10 +30,16 @@ import java.util.Objects;
 
 public class BlockEntitySpellCircle extends AbstractAuraBlockEntity implements ICastingSource {
     private int castRateTicks;
+    // Remaining ticks while the circle is paused, nextCastTime is used instead while it is casting
     private int ticksToNextCast;
+    private long nextCastTime = NEVER;
     private int castingLevel;
     private boolean isActive = false;
     private @Nullable ResourceLocation spellId = null;
+    // Resolved from spellId whenever it changes, so casting doesn't look the spell up every time
+    private @Nullable AbstractSpell spell = null;
+    // When above 0 crafting spells are applied to every pedestal within this many blocks of the target
+    private int areaRadius = 0;
 
     public BlockEntitySpellCircle(int maxAura, int castRateTicks, int castingLevel, BlockPos pos, BlockState state) {
         super(maxAura, false, true, ArcaneContent.BE_SPELL_CIRCLE.tile().get(), pos, state);
@@ -52,15 +57,22 @@ public class BlockEntitySpellCircle extends AbstractAuraBlockEntity implements I
         if (isActive && hasSpell()) {
             text.add(Component
                     .translatable("messages.arcane.spell")
-                    .append(Objects.requireNonNull(ArcaneRegistries.SPELLS.get(spellId)).getSpellName())
+                    .append(Objects.requireNonNull(spell).getSpellName())
                     .withStyle(ChatFormatting.LIGHT_PURPLE));
 
             text.add(Component
                     .translatable("messages.arcane.cast_timer")
-                    .append(Integer.toString(ticksToNextCast))
+                    .append(Integer.toString(getTicksToNextCast()))
                     .append("/")
                     .append(Integer.toString(castRateTicks))
                     .withStyle(ChatFormatting.AQUA));
+
+            if (areaRadius > 0) {
+                text.add(Component
+                        .translatable("messages.arcane.area_radius")
+                        .append(Integer.toString(areaRadius))
+                        .withStyle(ChatFormatting.AQUA));
+            }
         } else {
             if (!isActive) {
                 text.add(Component
@@ -78,30 +90,71 @@ public class BlockEntitySpellCircle extends AbstractAuraBlockEntity implements I
         return super.getText(text, context);
     }
 
-    protected void tick() {
-        if (level != null && hasSpell() && isActive && --ticksToNextCast <= 0) {
-            AbstractSpell spell = Objects.requireNonNull(ArcaneRegistries.SPELLS.get(spellId));
+    @Override
+    public void onLoad() {
+        if (level != null && isCasting())
+            nextCastTime = level.getGameTime() + ticksToNextCast;
+        super.onLoad();
+    }
+
+    @Override
+    protected boolean hasAuraLoss() {
+        return false;
+    }
+
+    @Override
+    protected long getNextWakeTime() {
+        return Math.min(super.getNextWakeTime(), isCasting() ? nextCastTime : NEVER);
+    }
+
+    @Override
+    protected void onWake(ServerLevel level, long gameTime) {
+        super.onWake(level, gameTime);
+        if (isCasting() && nextCastTime <= gameTime) {
             CastContext.SpellCircleContext c = new CastContext.SpellCircleContext(this);
-            if (!c.tryCast(spell).failed()) {
+            if (!c.tryCast(Objects.requireNonNull(spell)).failed()) {
                 MagicParticle.spawn(level, worldPosition.getCenter(), .4f, ArcaneContent.PIGMENT_MAGIC.get());
             }
             ticksToNextCast = castRateTicks;
+            nextCastTime = gameTime + castRateTicks;
+            BlockHelpers.sync(this);
         }
-        BlockHelpers.sync(this);
     }
 
     public boolean hasSpell() {
         return spellId != null;
     }
 
+    public boolean isCasting() {
+        return hasSpell() && isActive;
+    }
+
+    // Pauses or resumes the cast timer after the spell or active state changed
+    private void updateCasting(boolean wasCasting) {
+        if (level == null || wasCasting == isCasting())
+            return;
+
+        if (isCasting()) {
+            nextCastTime = level.getGameTime() + ticksToNextCast;
+            scheduleNextWake();
+        } else {
+            ticksToNextCast = (int) Math.max(nextCastTime - level.getGameTime(), 0);
+            nextCastTime = NEVER;
+        }
+    }
+
     // Setters
     public void setSpell(ResourceLocation id) {
-        spellId = id;
+        boolean wasCasting = isCasting();
+        setSpellId(id);
+        updateCasting(wasCasting);
         BlockHelpers.sync(this);
     }
 
     public void setActive(boolean value) {
+        boolean wasCasting = isCasting();
         isActive = value;
+        updateCasting(wasCasting);
         BlockHelpers.sync(this);
     }
 
@@ -115,20 +168,36 @@ public class BlockEntitySpellCircle extends AbstractAuraBlockEntity implements I
         BlockHelpers.sync(this);
     }
 
+    public void cycleAreaRadius() {
+        areaRadius = areaRadius >= ArcaneConfig.spellCircleMaxAreaRadius ? 0 : areaRadius + 1;
+        BlockHelpers.sync(this);
+    }
+
+    private void setSpellId(@Nullable ResourceLocation id) {
+        spellId = id;
+        spell = id == null ? null : ArcaneRegistries.SPELLS.get(id);
+    }
+
     // Getters
     public @Nullable ResourceLocation getSpellId() { return spellId; }
     public boolean getActive() { return isActive; }
     public int getCastRate() { return castRateTicks; }
-    public int getTicksToNextCast() { return ticksToNextCast; }
+    public int getTicksToNextCast() {
+        if (level != null && isCasting())
+            return (int) Math.max(nextCastTime - level.getGameTime(), 0);
+        return ticksToNextCast;
+    }
     public int getCastingLevel() { return castingLevel; }
+    public int getAreaRadius() { return areaRadius; }
 
     @Override
     public void saveAdditional(@NotNull CompoundTag nbt, HolderLookup.@NotNull Provider provider) {
         nbt.putString(NBTHelpers.KEY_SPELL, spellId == null ? "null" : spellId.toString());
         nbt.putInt(NBTHelpers.KEY_LEVEL, castingLevel);
-        nbt.putInt(NBTHelpers.KEY_TICKS_TO_NEXT, ticksToNextCast);
+        nbt.putInt(NBTHelpers.KEY_TICKS_TO_NEXT, getTicksToNextCast());
         nbt.putInt(NBTHelpers.KEY_CAST_RATE, castRateTicks);
         nbt.putBoolean(NBTHelpers.KEY_ACTIVE, isActive);
+        nbt.putInt(NBTHelpers.KEY_AREA_RADIUS, areaRadius);
         super.saveAdditional(nbt, provider);
     }
 
@@ -136,11 +205,13 @@ public class BlockEntitySpellCircle extends AbstractAuraBlockEntity implements I
     public void loadAdditional(@NotNull CompoundTag nbt, HolderLookup.@NotNull Provider provider) {
         super.loadAdditional(nbt, provider);
         String id = nbt.getString(NBTHelpers.KEY_SPELL);
-        spellId = id.equals("null") ? null : ResourceLocation.of(id, ':');
+        setSpellId(id.equals("null") ? null : ResourceLocation.of(id, ':'));
         castingLevel = nbt.getInt(NBTHelpers.KEY_LEVEL);
         ticksToNextCast = nbt.getInt(NBTHelpers.KEY_TICKS_TO_NEXT);
         castRateTicks = nbt.getInt(NBTHelpers.KEY_CAST_RATE);
         isActive = nbt.getBoolean(NBTHelpers.KEY_ACTIVE);
+        areaRadius = nbt.getInt(NBTHelpers.KEY_AREA_RADIUS);
+        nextCastTime = level != null && isCasting() ? level.getGameTime() + ticksToNextCast : NEVER;
     }
 
     @Override
@@ -149,9 +220,10 @@ public class BlockEntitySpellCircle extends AbstractAuraBlockEntity implements I
         CompoundTag nbt = super.getUpdateTag(provider);
         nbt.putString(NBTHelpers.KEY_SPELL, spellId == null ? "null" : spellId.toString());
         nbt.putInt(NBTHelpers.KEY_LEVEL, castingLevel);
-        nbt.putInt(NBTHelpers.KEY_TICKS_TO_NEXT, ticksToNextCast);
+        nbt.putInt(NBTHelpers.KEY_TICKS_TO_NEXT, getTicksToNextCast());
         nbt.putInt(NBTHelpers.KEY_CAST_RATE, castRateTicks);
         nbt.putBoolean(NBTHelpers.KEY_ACTIVE, isActive);
+        nbt.putInt(NBTHelpers.KEY_AREA_RADIUS, areaRadius);
         return nbt;
     }
 
@@ -160,22 +232,16 @@ public class BlockEntitySpellCircle extends AbstractAuraBlockEntity implements I
         assert level != null;
         CompoundTag nbt = getUpdateTag(level.registryAccess());
         String id = nbt.getString(NBTHelpers.KEY_SPELL);
-        spellId = id.equals("null") ? null : ResourceLocation.of(id, ':');
+        setSpellId(id.equals("null") ? null : ResourceLocation.of(id, ':'));
         castingLevel = nbt.getInt(NBTHelpers.KEY_LEVEL);
         ticksToNextCast = nbt.getInt(NBTHelpers.KEY_TICKS_TO_NEXT);
         castRateTicks = nbt.getInt(NBTHelpers.KEY_CAST_RATE);
         isActive = nbt.getBoolean(NBTHelpers.KEY_ACTIVE);
+        areaRadius = nbt.getInt(NBTHelpers.KEY_AREA_RADIUS);
+        nextCastTime = isCasting() ? level.getGameTime() + ticksToNextCast : NEVER;
         return ClientboundBlockEntityDataPacket.create(this);
     }
 
-    public static <T extends BlockEntity> void tick(Level level, BlockPos pos, BlockState state, T be) {
-        if (level.isClientSide)
-            return;
-
-        if (be instanceof BlockEntitySpellCircle spellCircle)
-            spellCircle.tick();
-    }
-
     @Override
     public int getCastLevel(CastContext context) {
         return castingLevel;
@@ -1,6 +1,7 @@
 package martian.arcane.common.block.spellcircle;
 
 import martian.arcane.api.block.AbstractAuraMachine;
+import martian.arcane.api.item.IAuraConfigurator;
 import martian.arcane.common.ArcaneContent;
 import martian.arcane.common.item.ItemSpellTablet;
 import net.minecraft.core.BlockPos;
@@ -15,9 +16,6 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.RenderShape;
 import net.minecraft.world.level.block.SoundType;
-import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.entity.BlockEntityTicker;
-import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition;
@@ -68,6 +66,11 @@ public class BlockSpellCircle extends AbstractAuraMachine {
         if (held.isEmpty() || circle == null)
             return ItemInteractionResult.FAIL;
 
+        if (held.getItem() instanceof IAuraConfigurator configurator && configurator.getIsConfigurator(level, player, state, pos, held)) {
+            circle.cycleAreaRadius();
+            return ItemInteractionResult.SUCCESS;
+        }
+
         if (held.is(ArcaneContent.ITEM_SPELL_TABLET) && !circle.hasSpell()) {
             circle.setSpell(ItemSpellTablet.getSpellId(held));
             held.shrink(1);
@@ -98,12 +101,6 @@ public class BlockSpellCircle extends AbstractAuraMachine {
         return RenderShape.ENTITYBLOCK_ANIMATED;
     }
 
-    @Override
-    @ParametersAreNonnullByDefault
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
-        return !level.isClientSide && type == ArcaneContent.BE_SPELL_CIRCLE.tile().get() ? BlockEntitySpellCircle::tick : null;
-    }
-
     @Override
     @ParametersAreNonnullByDefault
     @NotNull
@@ -1,5 +1,6 @@
 package martian.arcane.common.item;
 
+import martian.arcane.api.ArcaneCapabilities;
 import martian.arcane.api.Raycasting;
 import martian.arcane.api.aura.AuraRecord;
 import martian.arcane.api.aura.IMutableAuraStorage;
@@ -15,7 +16,6 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.phys.BlockHitResult;
 import org.jetbrains.annotations.NotNull;
 
@@ -50,11 +50,11 @@ public class ItemAuraglassBottle extends AbstractAuraItem {
             if (hit == null)
                 return InteractionResultHolder.fail(stack);
 
-            BlockEntity e = level.getBlockEntity(hit.getBlockPos());
-            if (e == null)
+            IMutableAuraStorage eAura = level.getCapability(ArcaneCapabilities.AURA, hit.getBlockPos(), hit.getDirection());
+            if (eAura == null)
                 return InteractionResultHolder.fail(stack);
 
-            if (e instanceof IMutableAuraStorage eAura && eAura.canInsert()) {
+            if (eAura.canInsert()) {
                 mutateAuraStorage(stack, bottleAura -> {
                     bottleAura.sendAuraTo(eAura, Integer.MAX_VALUE);
                     return bottleAura;
@@ -0,0 +1,67 @@
+package martian.arcane.common.networking;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import martian.arcane.ArcaneMod;
+import martian.arcane.api.aura.AuraRecord;
+import martian.arcane.api.block.entity.AbstractAuraBlockEntity;
+import martian.arcane.common.networking.s2c.S2CSyncAuraAttachments;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import java.util.*;
+
+/**
+ * Collects aura machines whose storage changed during a tick and syncs them once at the end of the server tick, with
+ * one packet per chunk sent only to the players tracking that chunk.
+ */
+@EventBusSubscriber(modid = ArcaneMod.MODID)
+public class AuraSyncQueue {
+    private static final Set<AbstractAuraBlockEntity> DIRTY = new LinkedHashSet<>();
+
+    public static void markDirty(AbstractAuraBlockEntity machine) {
+        DIRTY.add(machine);
+    }
+
+    public static void flush() {
+        if (DIRTY.isEmpty())
+            return;
+
+        Map<ServerLevel, Long2ObjectMap<List<S2CSyncAuraAttachments.Entry>>> batches = new HashMap<>();
+        for (AbstractAuraBlockEntity machine : DIRTY) {
+            if (machine.isRemoved() || !(machine.getLevel() instanceof ServerLevel level))
+                continue;
+
+            // Skip machines that ended the tick with the same aura they were last synced with
+            AuraRecord record = machine.getAuraStorage().freeze();
+            if (record.equals(machine.lastSyncedAura))
+                continue;
+            machine.lastSyncedAura = record;
+
+            batches.computeIfAbsent(level, it -> new Long2ObjectOpenHashMap<>())
+                    .computeIfAbsent(ChunkPos.asLong(machine.getBlockPos()), it -> new ArrayList<>())
+                    .add(new S2CSyncAuraAttachments.Entry(machine.getBlockPos(), record));
+        }
+        DIRTY.clear();
+
+        batches.forEach((level, chunks) -> chunks.long2ObjectEntrySet().forEach(entry ->
+                PacketDistributor.sendToPlayersTrackingChunk(level, new ChunkPos(entry.getLongKey()), new S2CSyncAuraAttachments(entry.getValue()))));
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onServerTick(final ServerTickEvent.Post event) {
+        flush();
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onServerStopped(final ServerStoppedEvent event) {
+        DIRTY.clear();
+    }
+}
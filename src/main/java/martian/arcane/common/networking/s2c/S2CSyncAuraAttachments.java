@@ -0,0 +1,51 @@
+package martian.arcane.common.networking.s2c;
+
+import martian.arcane.ArcaneMod;
+import martian.arcane.api.block.entity.AbstractAuraBlockEntity;
+import martian.arcane.api.aura.AuraRecord;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Aura storages of every machine in a single chunk that changed since the last sync
+public record S2CSyncAuraAttachments(List<Entry> entries) implements CustomPacketPayload {
+    public static final Type<S2CSyncAuraAttachments> TYPE = new Type<>(ArcaneMod.id("sync_aura_attachments"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, S2CSyncAuraAttachments> CODEC = StreamCodec.of(
+            (RegistryFriendlyByteBuf buf, S2CSyncAuraAttachments it) -> {
+                buf.writeVarInt(it.entries.size());
+                for (Entry entry : it.entries) {
+                    buf.writeBlockPos(entry.pos);
+                    AuraRecord.STREAM_CODEC.encode(buf, entry.storage);
+                }
+            },
+            (RegistryFriendlyByteBuf buf) -> {
+                int size = buf.readVarInt();
+                List<Entry> entries = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    entries.add(new Entry(buf.readBlockPos(), AuraRecord.STREAM_CODEC.decode(buf)));
+                return new S2CSyncAuraAttachments(entries);
+            }
+    );
+
+    public static void handler(final S2CSyncAuraAttachments payload, final IPayloadContext context) {
+        context.enqueueWork(() -> {
+            for (Entry entry : payload.entries)
+                if (context.player().level().getBlockEntity(entry.pos) instanceof AbstractAuraBlockEntity be)
+                    be.setAuraStorage(entry.storage);
+        });
+    }
+
+    @Override
+    public @NotNull Type<S2CSyncAuraAttachments> type() {
+        return TYPE;
+    }
+
+    public record Entry(BlockPos pos, AuraRecord storage) {}
+}
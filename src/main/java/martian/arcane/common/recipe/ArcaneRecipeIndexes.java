@@ -0,0 +1,87 @@
+package martian.arcane.common.recipe;
+
+import martian.arcane.ArcaneMod;
+import martian.arcane.api.recipe.RecipeIndexes;
+import martian.arcane.api.recipe.RecipeOutput;
+import martian.arcane.api.recipe.SimpleRecipe;
+import net.minecraft.Util;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.AddReloadListenerEvent;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Starts building the index of every Arcane recipe type on the background executor as soon as a server has finished
+ * loading its data, so lookups after a reload or on startup don't have to scan every recipe while the indexes are built
+ * on demand. Recipe outputs are checked in the same pass so broken datapacks show up in the log when they are loaded
+ * rather than when something is crafted.
+ */
+@EventBusSubscriber(modid = ArcaneMod.MODID)
+public class ArcaneRecipeIndexes {
+    private static volatile @Nullable RecipeManager pendingManager = null;
+
+    public static void prebuild(RecipeManager manager) {
+        BuiltInRegistries.RECIPE_TYPE.stream()
+                .filter(SpellRecipeType.class::isInstance)
+                .forEach(type -> SpellRecipe.getIndex((SpellRecipeType) type, manager));
+        RecipeAuraInfusion.getIndex(manager);
+        RecipePedestalCrafting.getIndex(manager);
+        RecipeCauldronMixing.getIndex(manager);
+
+        CompletableFuture.runAsync(() -> validate(manager), Util.backgroundExecutor());
+    }
+
+    private static void validate(RecipeManager manager) {
+        for (RecipeHolder<?> holder : manager.getRecipes()) {
+            Recipe<?> recipe = holder.value();
+            List<RecipeOutput> outputs;
+            if (recipe instanceof SimpleRecipe<?> simple) {
+                outputs = simple.results();
+                if (outputs.isEmpty())
+                    ArcaneMod.LOGGER.warn("Recipe {} has no outputs", holder.id());
+            } else if (recipe instanceof RecipeCauldronMixing mixing) {
+                outputs = mixing.results();
+                if (outputs.isEmpty() && mixing.resultBlock().isEmpty())
+                    ArcaneMod.LOGGER.warn("Recipe {} has no outputs or result block", holder.id());
+            } else
+                continue;
+
+            for (RecipeOutput output : outputs) {
+                if (output.stack().isEmpty())
+                    ArcaneMod.LOGGER.warn("Recipe {} has an empty output", holder.id());
+                else if (output.chance() <= 0)
+                    ArcaneMod.LOGGER.warn("Recipe {} has an output which can never be produced: {}", holder.id(), output.stack());
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent
+    static void onAddReloadListeners(final AddReloadListenerEvent event) {
+        // Indexes expand tag ingredients, but tags are only bound after every reload listener has run, so building waits
+        // until the tags are updated
+        pendingManager = event.getServerResources().getRecipeManager();
+    }
+
+    @SuppressWarnings("unused")
+    @SubscribeEvent(priority = EventPriority.LOW)
+    static void onTagsUpdated(final TagsUpdatedEvent event) {
+        RecipeManager manager = pendingManager;
+        if (event.getUpdateCause() != TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD || manager == null)
+            return;
+
+        pendingManager = null;
+        // Anything built before the tags were bound expanded its tag ingredients to nothing
+        RecipeIndexes.invalidate(manager);
+        prebuild(manager);
+    }
+}
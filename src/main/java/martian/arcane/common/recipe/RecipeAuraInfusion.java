@@ -1,6 +1,8 @@
 package martian.arcane.common.recipe;
 
 import martian.arcane.api.item.ItemHelpers;
+import martian.arcane.api.recipe.RecipeIndex;
+import martian.arcane.api.recipe.RecipeIndexes;
 import martian.arcane.api.recipe.RecipeOutput;
 import martian.arcane.api.recipe.SingleItemContainer;
 import martian.arcane.api.recipe.SimpleRecipe;
@@ -12,9 +14,11 @@ import net.minecraft.core.NonNullList;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.item.crafting.RecipeSerializer;
 import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.List;
 import java.util.Optional;
@@ -33,7 +37,11 @@ public class RecipeAuraInfusion extends SimpleRecipe<RecipeAuraInfusion.Containe
 
     @Override
     public boolean matches(Container container, Level level) {
-        return this.matchesWithoutAuraCost(container, level) && container.aura >= this.aura;
+        return matches(container);
+    }
+
+    public boolean matches(Container container) {
+        return matches(container.getItem()) && container.aura >= this.aura;
     }
 
     public boolean matchesWithoutAuraCost(Container container, Level ignoredLevel) {
@@ -49,8 +57,9 @@ public class RecipeAuraInfusion extends SimpleRecipe<RecipeAuraInfusion.Containe
     }
 
     public void assemble(BlockEntityAuraInfuser infuser) {
+        Level level = infuser.getLevel();
         var stacks = results.stream()
-                .map(RecipeOutput::roll)
+                .map(output -> output.roll(level.getRandom()))
                 .filter(stack -> !stack.isEmpty())
                 .toList();
 
@@ -61,7 +70,6 @@ public class RecipeAuraInfusion extends SimpleRecipe<RecipeAuraInfusion.Containe
             infuser.setItem(stacks.getFirst());
         } else {
             infuser.setItem(ItemStack.EMPTY);
-            Level level = infuser.getLevel();
             BlockPos pos = infuser.getBlockPos().above();
             stacks.forEach(result -> ItemHelpers.addItemEntity(level, result, pos));
         }
@@ -84,14 +92,32 @@ public class RecipeAuraInfusion extends SimpleRecipe<RecipeAuraInfusion.Containe
     }
 
     public static Optional<RecipeHolder<RecipeAuraInfusion>> getRecipeFor(Level level, Container container, boolean ignoreAuraCost) {
-        return getAllRecipes(level)
+        return getRecipeFor(level.getRecipeManager(), container, ignoreAuraCost);
+    }
+
+    public static Optional<RecipeHolder<RecipeAuraInfusion>> getRecipeFor(RecipeManager manager, Container container, boolean ignoreAuraCost) {
+        return getCandidates(manager, container.getItem())
                 .stream()
                 .filter(recipe -> ignoreAuraCost ?
-                        recipe.value().matchesWithoutAuraCost(container, level)
-                        : recipe.value().matches(container, level))
+                        recipe.value().matches(container.getItem())
+                        : recipe.value().matches(container))
                 .findFirst();
     }
 
+    // Every recipe that could match the stack, or every recipe while the index is still being built
+    public static List<RecipeHolder<RecipeAuraInfusion>> getCandidates(Level level, ItemStack stack) {
+        return getCandidates(level.getRecipeManager(), stack);
+    }
+
+    public static List<RecipeHolder<RecipeAuraInfusion>> getCandidates(RecipeManager manager, ItemStack stack) {
+        RecipeIndex<RecipeAuraInfusion> index = getIndex(manager);
+        return index == null ? manager.getAllRecipesFor(TYPE) : index.getCandidates(stack);
+    }
+
+    public static @Nullable RecipeIndex<RecipeAuraInfusion> getIndex(RecipeManager manager) {
+        return RecipeIndexes.get(manager, TYPE, RecipeAuraInfusion::input);
+    }
+
     public static List<RecipeHolder<RecipeAuraInfusion>> getAllRecipes(Level level) {
         return level.getRecipeManager().getAllRecipesFor(TYPE);
     }
@@ -1,24 +1,31 @@
 package martian.arcane.common.recipe;
 
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import martian.arcane.api.recipe.BlockIngredient;
 import martian.arcane.api.item.ItemHelpers;
 import martian.arcane.api.recipe.BlockOutput;
+import martian.arcane.api.recipe.IngredientMatcher;
 import martian.arcane.api.recipe.ItemEntityContainer;
+import martian.arcane.api.recipe.RecipeIndex;
+import martian.arcane.api.recipe.RecipeIndexes;
 import martian.arcane.api.recipe.RecipeOutput;
 import net.minecraft.MethodsReturnNonnullByDefault;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.core.NonNullList;
+import net.minecraft.world.Container;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.*;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.LayeredCauldronBlock;
 import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ParametersAreNonnullByDefault
 @MethodsReturnNonnullByDefault
@@ -31,6 +38,18 @@ public record RecipeCauldronMixing(
 ) implements Recipe<ItemEntityContainer> {
     public static final RecipeCauldronMixingType TYPE = new RecipeCauldronMixingType();
 
+    // Recipe managers left behind by a reload are dropped along with their buckets
+    private static final Map<RecipeManager, Buckets> BUCKETS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * A recipe together with the items it will consume.
+     */
+    public record Match(RecipeHolder<RecipeCauldronMixing> recipe, IngredientMatcher matcher, int[] assignment) {
+        public void assemble(Level level, BlockPos pos) {
+            recipe.value().assemble(matcher, assignment, level, pos);
+        }
+    }
+
     @Override
     @Deprecated
     public boolean matches(ItemEntityContainer container, Level level) {
@@ -38,24 +57,15 @@ public record RecipeCauldronMixing(
     }
 
     public boolean matches(ItemEntityContainer container, BlockState state) {
-        if (!cauldron.test(state))
-            return false;
+        return matches(state) && new IngredientMatcher(container).assign(inputs) != null;
+    }
 
-        if (fluidAmount > 0 && state.hasProperty(LayeredCauldronBlock.LEVEL) && state.getValue(LayeredCauldronBlock.LEVEL) == 0)
+    // Checks the cauldron itself, without looking at any items
+    public boolean matches(BlockState state) {
+        if (!cauldron.test(state))
             return false;
 
-        for (Ingredient ingredient : inputs)
-            if (!container.hasAnyMatching(ingredient))
-                return false;
-
-        return true;
-    }
-
-    private int findByIngredient(ItemEntityContainer container, Ingredient ingredient) {
-        for (int i = 0; i < container.getContainerSize(); i++)
-            if (ingredient.test(container.getItem(i)))
-                return i;
-        return -1;
+        return fluidAmount <= 0 || !state.hasProperty(LayeredCauldronBlock.LEVEL) || state.getValue(LayeredCauldronBlock.LEVEL) != 0;
     }
 
     @Override
@@ -65,12 +75,20 @@ public record RecipeCauldronMixing(
     }
 
     public void assemble(ItemEntityContainer container, Level level, BlockPos pos) {
-        for (Ingredient ingredient : inputs) {
-            container.removeItem(findByIngredient(container, ingredient), 1);
-        }
+        IngredientMatcher matcher = new IngredientMatcher(container);
+        int[] assignment = matcher.assign(inputs);
+        if (assignment != null)
+            assemble(matcher, assignment, level, pos);
+    }
+
+    /**
+     * @param assignment The result of {@link IngredientMatcher#assign} for this recipe's inputs.
+     */
+    public void assemble(IngredientMatcher matcher, int[] assignment, Level level, BlockPos pos) {
+        matcher.consume(assignment);
 
         for (RecipeOutput output : results) {
-            ItemHelpers.addItemEntity(level, output.roll(), pos);
+            ItemHelpers.addItemEntity(level, output.roll(level.getRandom()), pos);
         }
 
         if (fluidAmount > 0) {
@@ -108,13 +126,90 @@ public record RecipeCauldronMixing(
     }
 
     public static Optional<RecipeHolder<RecipeCauldronMixing>> getRecipeFor(Level level, ItemEntityContainer container, BlockState state) {
-        return getAllRecipes(level)
-                .stream()
-                .filter(recipe -> recipe.value().matches(container, state))
-                .findFirst();
+        return findMatch(level.getRecipeManager(), container, state).map(Match::recipe);
+    }
+
+    public static Optional<Match> findMatch(Level level, ItemEntityContainer container, BlockState state) {
+        return findMatch(level.getRecipeManager(), container, state);
+    }
+
+    public static Optional<Match> findMatch(RecipeManager manager, Container container, BlockState state) {
+        Set<RecipeHolder<RecipeCauldronMixing>> bucket = getRecipesForCauldron(manager, state.getBlock());
+        if (bucket.isEmpty())
+            return Optional.empty();
+
+        IngredientMatcher matcher = new IngredientMatcher(container);
+        for (RecipeHolder<RecipeCauldronMixing> recipe : getCandidates(manager, container)) {
+            if (!bucket.contains(recipe) || !recipe.value().matches(state))
+                continue;
+
+            int[] assignment = matcher.assign(recipe.value().inputs);
+            if (assignment != null)
+                return Optional.of(new Match(recipe, matcher, assignment));
+        }
+
+        return Optional.empty();
+    }
+
+    // Recipes are grouped by their cauldron ingredient and each group is tested against a block once, so lookups only
+    // ever consider recipes which can be made in the cauldron being used
+    private static Set<RecipeHolder<RecipeCauldronMixing>> getRecipesForCauldron(RecipeManager manager, Block block) {
+        int version = RecipeIndexes.getVersion(manager);
+        return BUCKETS
+                .compute(manager, (it, buckets) -> buckets != null && buckets.version() == version ? buckets : new Buckets(version, new ConcurrentHashMap<>()))
+                .byBlock()
+                .computeIfAbsent(block, it -> {
+                    Map<BlockIngredient, List<RecipeHolder<RecipeCauldronMixing>>> byCauldron = new HashMap<>();
+                    for (RecipeHolder<RecipeCauldronMixing> recipe : manager.getAllRecipesFor(TYPE))
+                        byCauldron.computeIfAbsent(recipe.value().cauldron, c -> new ArrayList<>()).add(recipe);
+
+                    Set<RecipeHolder<RecipeCauldronMixing>> bucket = new ReferenceOpenHashSet<>();
+                    BlockState state = block.defaultBlockState();
+                    byCauldron.forEach((cauldron, recipes) -> {
+                        if (cauldron.test(state))
+                            bucket.addAll(recipes);
+                    });
+                    return bucket;
+                });
+    }
+
+    // Every recipe that could match the container's items, or every recipe while the index is still being built
+    public static List<RecipeHolder<RecipeCauldronMixing>> getCandidates(Level level, ItemEntityContainer container) {
+        return getCandidates(level.getRecipeManager(), container);
+    }
+
+    public static List<RecipeHolder<RecipeCauldronMixing>> getCandidates(RecipeManager manager, Container container) {
+        RecipeIndex<RecipeCauldronMixing> index = getIndex(manager);
+        if (index == null)
+            return manager.getAllRecipesFor(TYPE);
+
+        List<ItemStack> stacks = new ArrayList<>(container.getContainerSize());
+        for (int i = 0; i < container.getContainerSize(); i++)
+            stacks.add(container.getItem(i));
+        return index.getCandidates(stacks);
+    }
+
+    public static @Nullable RecipeIndex<RecipeCauldronMixing> getIndex(RecipeManager manager) {
+        return RecipeIndexes.get(manager, TYPE, RecipeCauldronMixing::getKeyIngredient);
+    }
+
+    // Every input has to be present for a recipe to match, so indexing by the input matching the fewest items is enough
+    private Ingredient getKeyIngredient() {
+        Ingredient key = Ingredient.EMPTY;
+        int keySize = Integer.MAX_VALUE;
+        for (Ingredient ingredient : inputs) {
+            int size = ingredient.isSimple() ? ingredient.getItems().length : 0;
+            if (size > 0 && size < keySize) {
+                key = ingredient;
+                keySize = size;
+            }
+        }
+        return key;
     }
 
     public static List<RecipeHolder<RecipeCauldronMixing>> getAllRecipes(Level level) {
         return level.getRecipeManager().getAllRecipesFor(TYPE);
     }
+
+    private record Buckets(int version, Map<Block, Set<RecipeHolder<RecipeCauldronMixing>>> byBlock) {}
 }
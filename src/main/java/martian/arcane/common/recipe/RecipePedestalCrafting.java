@@ -1,6 +1,8 @@
 package martian.arcane.common.recipe;
 
 import martian.arcane.api.item.ItemHelpers;
+import martian.arcane.api.recipe.PairedRecipeIndex;
+import martian.arcane.api.recipe.RecipeIndexes;
 import martian.arcane.api.recipe.RecipeOutput;
 import martian.arcane.api.recipe.SingleItemContainer;
 import martian.arcane.api.recipe.SimpleRecipe;
@@ -11,9 +13,11 @@ import net.minecraft.core.NonNullList;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.item.crafting.RecipeSerializer;
 import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.List;
@@ -42,9 +46,10 @@ public class RecipePedestalCrafting extends SimpleRecipe<SingleItemContainer> {
 
     public void assemble(BlockEntityPedestal pedestal, ItemStack interactionItem) {
         if (matches(pedestal.getItem(), interactionItem)) {
+            Level level = pedestal.getLevel();
             NonNullList<ItemStack> stacks = NonNullList.create();
             results.stream()
-                    .map(RecipeOutput::roll)
+                    .map(output -> output.roll(level.getRandom()))
                     .filter(stack -> !stack.isEmpty())
                     .forEach(stacks::add);
 
@@ -52,7 +57,6 @@ public class RecipePedestalCrafting extends SimpleRecipe<SingleItemContainer> {
                 pedestal.setItem(stacks.getFirst());
             else {
                 pedestal.setItem(ItemStack.EMPTY);
-                Level level = pedestal.getLevel();
                 BlockPos pos = pedestal.getBlockPos().above();
                 stacks.forEach(result -> ItemHelpers.addItemEntity(level, result, pos));
             }
@@ -73,12 +77,27 @@ public class RecipePedestalCrafting extends SimpleRecipe<SingleItemContainer> {
     }
 
     public static Optional<RecipeHolder<RecipePedestalCrafting>> getRecipeFor(Level level, ItemStack pedestalStack, ItemStack interactionStack) {
-        return getAllRecipes(level)
+        return getRecipeFor(level.getRecipeManager(), pedestalStack, interactionStack);
+    }
+
+    public static Optional<RecipeHolder<RecipePedestalCrafting>> getRecipeFor(RecipeManager manager, ItemStack pedestalStack, ItemStack interactionStack) {
+        return getCandidates(manager, pedestalStack, interactionStack)
                 .stream()
                 .filter(recipe -> recipe.value().matches(pedestalStack, interactionStack))
                 .findFirst();
     }
 
+    // Every recipe that could match the pair of stacks, or every recipe while the index is still being built
+    public static List<RecipeHolder<RecipePedestalCrafting>> getCandidates(RecipeManager manager, ItemStack pedestalStack, ItemStack interactionStack) {
+        PairedRecipeIndex<RecipePedestalCrafting> index = getIndex(manager);
+        return index == null ? manager.getAllRecipesFor(TYPE) : index.getCandidates(pedestalStack, interactionStack);
+    }
+
+    public static @Nullable PairedRecipeIndex<RecipePedestalCrafting> getIndex(RecipeManager manager) {
+        return RecipeIndexes.getOrBuild(manager, TYPE, recipes ->
+                PairedRecipeIndex.build(recipes, RecipePedestalCrafting::input, RecipePedestalCrafting::interactionItem));
+    }
+
     public static List<RecipeHolder<RecipePedestalCrafting>> getAllRecipes(Level level) {
         return level.getRecipeManager().getAllRecipesFor(TYPE);
     }
@@ -2,10 +2,13 @@ package martian.arcane.common.recipe;
 
 import martian.arcane.api.recipe.*;
 import net.minecraft.core.NonNullList;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.level.Level;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,10 +37,37 @@ public class SpellRecipe extends SimpleRecipe<SingleItemContainer> implements IS
     }
 
     public static Optional<RecipeHolder<SpellRecipe>> getRecipeFor(SpellRecipeType type, Level level, SingleItemContainer container) {
-        return getAllRecipes(type, level)
+        return getRecipeFor(type, level.getRecipeManager(), container.getItem());
+    }
+
+    public static Optional<RecipeHolder<SpellRecipe>> getRecipeFor(SpellRecipeType type, RecipeManager manager, ItemStack stack) {
+        // Recipes only ever look at the input's item and components, so a miss stays a miss until the next reload
+        RecipeMissCache misses = type.getMisses();
+        if (misses.isMiss(manager, stack))
+            return Optional.empty();
+
+        Optional<RecipeHolder<SpellRecipe>> recipe = getCandidates(type, manager, stack)
                 .stream()
-                .filter(recipe -> recipe.value().matches(container, level))
+                .filter(it -> it.value().matches(stack))
                 .findFirst();
+
+        if (recipe.isEmpty())
+            misses.addMiss(manager, stack);
+        return recipe;
+    }
+
+    // Every recipe that could match the stack, or every recipe of the type while the index is still being built
+    public static List<RecipeHolder<SpellRecipe>> getCandidates(SpellRecipeType type, Level level, ItemStack stack) {
+        return getCandidates(type, level.getRecipeManager(), stack);
+    }
+
+    public static List<RecipeHolder<SpellRecipe>> getCandidates(SpellRecipeType type, RecipeManager manager, ItemStack stack) {
+        RecipeIndex<SpellRecipe> index = getIndex(type, manager);
+        return index == null ? manager.getAllRecipesFor(type) : index.getCandidates(stack);
+    }
+
+    public static @Nullable RecipeIndex<SpellRecipe> getIndex(SpellRecipeType type, RecipeManager manager) {
+        return RecipeIndexes.get(manager, type, SpellRecipe::input);
     }
 
     public static List<RecipeHolder<SpellRecipe>> getAllRecipes(SpellRecipeType type, Level level) {
@@ -3,6 +3,7 @@ package martian.arcane.common.recipe;
 import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import martian.arcane.api.recipe.ArcaneRecipeType;
+import martian.arcane.api.recipe.RecipeMissCache;
 import martian.arcane.api.recipe.RecipeOutput;
 import net.minecraft.core.NonNullList;
 import net.minecraft.network.RegistryFriendlyByteBuf;
@@ -38,6 +39,7 @@ public class SpellRecipeType implements ArcaneRecipeType<SpellRecipe> {
 
     private final MapCodec<SpellRecipe> codec;
     private final StreamCodec<RegistryFriendlyByteBuf, SpellRecipe> streamCodec;
+    private final RecipeMissCache misses = new RecipeMissCache();
 
     public SpellRecipeType() {
         codec = makeCodec(this);
@@ -55,4 +57,8 @@ public class SpellRecipeType implements ArcaneRecipeType<SpellRecipe> {
     public StreamCodec<RegistryFriendlyByteBuf, SpellRecipe> streamCodec() {
         return streamCodec;
     }
+
+    public RecipeMissCache getMisses() {
+        return misses;
+    }
 }
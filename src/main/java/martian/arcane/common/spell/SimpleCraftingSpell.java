@@ -1,7 +1,6 @@
 package martian.arcane.common.spell;
 
 import martian.arcane.api.item.ItemHelpers;
-import martian.arcane.api.recipe.RecipeOutput;
 import martian.arcane.api.recipe.SingleItemContainer;
 import martian.arcane.api.spell.*;
 import martian.arcane.common.block.pedestal.BlockEntityPedestal;
@@ -17,21 +16,32 @@ import net.minecraft.world.item.crafting.RecipeHolder;
 import net.minecraft.world.level.Level;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
-public abstract class SimpleCraftingSpell extends AbstractSpell {
+public abstract class SimpleCraftingSpell extends AbstractSpell implements IAreaCraftingSpell {
     private final SpellRecipeType type;
 
     public SimpleCraftingSpell(SpellRecipeType type) {
         this.type = type;
     }
 
+    @Override
+    public CastPlan plan(CastContext c) {
+        if (IAreaCraftingSpell.isAreaCast(c))
+            return planArea((CastContext.SpellCircleContext) c, getAuraCost(c));
+        return super.plan(c);
+    }
+
     @Override
     public CastResult cast(CastContext c) {
         if (c.level.isClientSide)
             return CastResult.SUCCESS;
 
+        if (IAreaCraftingSpell.isAreaCast(c))
+            return castArea((CastContext.SpellCircleContext) c, c.plan(this));
+
         return switch (c.target.type()) {
             case MISS -> CastResult.FAILED;
             case BLOCK -> new CastResult(craftUsingBlock(type, c.level, (BlockPos)c.target.value()), null);
@@ -42,29 +52,41 @@ public abstract class SimpleCraftingSpell extends AbstractSpell {
     }
 
     public static boolean mapRecipeIfExists(SpellRecipeType type, Level level, BlockPos pos, SingleItemContainer container, BiConsumer<RecipeHolder<SpellRecipe>, List<ItemStack>> consumer) {
+        return mapRecipeIfExists(type, level, pos, container, 1, consumer);
+    }
+
+    /**
+     * @param crafts How many times to craft the recipe, outputs are rolled for all of them at once.
+     */
+    public static boolean mapRecipeIfExists(SpellRecipeType type, Level level, BlockPos pos, SingleItemContainer container, int crafts, BiConsumer<RecipeHolder<SpellRecipe>, List<ItemStack>> consumer) {
         AtomicBoolean didCraft = new AtomicBoolean(false);
         SpellRecipe.getRecipeFor(type, level, container).ifPresent(r -> {
-            var stacks = r.value().getRecipeOutput()
-                    .stream()
-                    .map(RecipeOutput::roll)
-                    .filter(stack -> !stack.isEmpty())
-                    .toList();
-            consumer.accept(r, stacks);
+            consumer.accept(r, rollOutputs(r, level, crafts));
             didCraft.set(true);
         });
         return didCraft.get();
     }
 
+    private static List<ItemStack> rollOutputs(RecipeHolder<SpellRecipe> recipe, Level level, int crafts) {
+        return recipe.value().getRecipeOutput()
+                .stream()
+                .flatMap(output -> output.roll(level.getRandom(), crafts).stream())
+                .toList();
+    }
+
+    private static void setPedestalResult(Level level, BlockEntityPedestal pedestal, RecipeHolder<SpellRecipe> recipe, List<ItemStack> stacks) {
+        if (recipe.value().getRecipeOutput().size() == 1 && !stacks.isEmpty()) {
+            pedestal.setItem(stacks.getFirst());
+        } else {
+            pedestal.setItem(ItemStack.EMPTY);
+            stacks.forEach(stack -> ItemHelpers.addItemEntity(level, stack, pedestal.getBlockPos()));
+        }
+    }
+
     public static boolean craftUsingBlock(SpellRecipeType type, Level level, BlockPos pos) {
         if (level.getBlockEntity(pos) instanceof BlockEntityPedestal pedestal) {
-            return mapRecipeIfExists(type, level, pos, new SingleItemContainer(pedestal.getItem()), (r, stacks) -> {
-                if (r.value().getRecipeOutput().size() == 1) {
-                    pedestal.setItem(stacks.getFirst());
-                } else {
-                    pedestal.setItem(ItemStack.EMPTY);
-                    stacks.forEach(stack -> ItemHelpers.addItemEntity(level, stack, pos));
-                }
-            });
+            return mapRecipeIfExists(type, level, pos, new SingleItemContainer(pedestal.getItem()), (r, stacks) ->
+                    setPedestalResult(level, pedestal, r, stacks));
         } else {
             return mapRecipeIfExists(type, level, pos, new SingleItemContainer(level.getBlockState(pos).getBlock().asItem().getDefaultInstance()), (r, stacks) -> {
                 level.removeBlock(pos, false);
@@ -76,17 +98,42 @@ public abstract class SimpleCraftingSpell extends AbstractSpell {
         }
     }
 
+    // Crafts the whole stack at once. The result is only placed as a block when a single item was crafted
     public static boolean craftUsingItemEntity(ItemEntity item, SpellRecipeType type, Level level, BlockPos pos) {
-        return mapRecipeIfExists(type, level, pos, new SingleItemContainer(item.getItem()), (r, stacks) -> {
+        int crafts = item.getItem().getCount();
+        return mapRecipeIfExists(type, level, pos, new SingleItemContainer(item.getItem()), crafts, (r, stacks) -> {
             item.remove(Entity.RemovalReason.DISCARDED);
 
-            if (stacks.size() == 1 && stacks.getFirst().getItem() instanceof BlockItem bi)
+            if (crafts == 1 && stacks.size() == 1 && stacks.getFirst().getItem() instanceof BlockItem bi)
                 level.setBlockAndUpdate(pos, bi.getBlock().defaultBlockState());
             else
                 stacks.forEach(stack -> ItemHelpers.addItemEntity(level, stack, pos.above()));
         });
     }
 
+    @Override
+    public boolean canCraft(Level level, ItemStack stack) {
+        return SpellRecipe.getRecipeFor(type, level.getRecipeManager(), stack).isPresent();
+    }
+
+    @Override
+    public int craftPedestals(Level level, List<BlockEntityPedestal> pedestals, int maxCrafts) {
+        int crafted = 0;
+        for (var group : IAreaCraftingSpell.groupByStack(pedestals).entrySet()) {
+            Optional<RecipeHolder<SpellRecipe>> recipe = SpellRecipe.getRecipeFor(type, level.getRecipeManager(), group.getKey());
+            if (recipe.isEmpty())
+                continue;
+
+            for (BlockEntityPedestal pedestal : group.getValue()) {
+                if (crafted >= maxCrafts)
+                    return crafted;
+                setPedestalResult(level, pedestal, recipe.get(), rollOutputs(recipe.get(), level, 1));
+                crafted++;
+            }
+        }
+        return crafted;
+    }
+
     public static SimpleCraftingSpell of(ResourceLocation id, int auraCost, int cooldown, int minLevel, SpellRecipeType type) {
         return new SimpleCraftingSpell(type) {
             private final SpellConfig config = SpellConfig.basicConfig(id, auraCost, cooldown, minLevel).build();
@@ -2,12 +2,16 @@ package martian.arcane.common.spell;
 
 import martian.arcane.ArcaneMod;
 import martian.arcane.api.block.AOEHelpers;
+import martian.arcane.api.block.BlockMutationBatch;
 import martian.arcane.api.spell.*;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.BlockHitResult;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 public class SpellBreaking extends AbstractSpell {
     private static final SpellConfig config = new SpellConfig(ArcaneMod.id("breaking"))
@@ -19,6 +23,8 @@ public class SpellBreaking extends AbstractSpell {
             .set("radiusAtLevel3", 2)
             .build();
 
+    private static final SpellConfig.Compiled<Values> values = config.compile(Values::new);
+
     @Override
     protected SpellConfig getConfig() {
         return config;
@@ -26,88 +32,69 @@ public class SpellBreaking extends AbstractSpell {
 
     @Override
     public int getAuraCost(CastContext c) {
-        if (c.target.type() == CastTarget.Type.BLOCK) {
-            AtomicInteger cost = new AtomicInteger(0);
-            BlockPos target = ((BlockPos) c.target.value());
-
-            if (c instanceof CastContext.WandContext wc) {
-                if (wc.raycast() instanceof BlockHitResult bHit) {
-                    if (c.source.getCastLevel(wc) == 1 || wc.caster.isCrouching()) {
-                        if (canBreak(c.level, target))
-                            cost.getAndAdd(config.get("auraCostPerBlock"));
-                    } else {
-                        AOEHelpers.streamAOE(target, bHit.getDirection(), getRadius(c.source.getCastLevel(wc))).forEach(pos -> {
-                            if (c.aura.getAura() - cost.get() <= 0)
-                                return;
-
-                            if (canBreak(c.level, pos))
-                                cost.getAndAdd(config.get("auraCostPerBlock"));
-                        });
-                    }
-                }
-            } else if (canBreak(c.level, target)) {
-                cost.getAndAdd(config.get("auraCostPerBlock"));
-            }
+        return c.plan(this).cost();
+    }
 
-            return cost.get();
+    @Override
+    public CastPlan plan(CastContext c) {
+        if (c.target.type() != CastTarget.Type.BLOCK)
+            return CastPlan.EMPTY;
+
+        BlockPos target = ((BlockPos) c.target.value());
+        int costPerBlock = values.get().auraCostPerBlock();
+
+        if (c instanceof CastContext.WandContext wc && wc.hit instanceof BlockHitResult bHit) {
+            int castLevel = c.source.getCastLevel(wc);
+            Stream<BlockPos> area = castLevel == 1 || wc.caster.isCrouching() ?
+                    Stream.of(target) :
+                    AOEHelpers.streamAOE(target, bHit.getDirection(), getRadius(castLevel));
+            return CastPlan.ofArea(bHit, area, pos -> canBreak(c.level, pos), costPerBlock, c.aura.getAura(), Integer.MAX_VALUE);
         }
 
-        return 0;
+        return CastPlan.ofArea(null, Stream.of(target), pos -> canBreak(c.level, pos), costPerBlock, Integer.MAX_VALUE, 1);
     }
 
     @Override
     public CastResult cast(CastContext c) {
-        if (c.level.isClientSide)
+        if (!(c.level instanceof ServerLevel level))
             return CastResult.SUCCESS;
 
-        if (c.target.type() == CastTarget.Type.BLOCK) {
-            AtomicInteger cost = new AtomicInteger(0);
-            BlockPos target = ((BlockPos) c.target.value());
-
-            if (c instanceof CastContext.WandContext wc) {
-                if (wc.raycast() instanceof BlockHitResult bHit) {
-                    if (c.source.getCastLevel(wc) == 1 || wc.caster.isCrouching()) {
-                        if (tryBreak(c.level, target, !wc.caster.isCreative()))
-                            cost.getAndAdd(config.get("auraCostPerBlock"));
-                    } else {
-                        AOEHelpers.streamAOE(target, bHit.getDirection(), getRadius(c.source.getCastLevel(wc))).forEach(pos -> {
-                            if (c.aura.getAura() - cost.get() <= 0)
-                                return;
-
-                            if (tryBreak(c.level, pos, !wc.caster.isCreative()))
-                                cost.getAndAdd(config.get("auraCostPerBlock"));
-                        });
-                    }
-                } else {
-                    return CastResult.FAILED;
-                }
-            } else {
-                tryBreak(c.level, target, true);
-            }
+        if (c.target.type() != CastTarget.Type.BLOCK)
+            return CastResult.FAILED;
 
-            return CastResult.SUCCESS;
-        }
+        Player caster = c instanceof CastContext.WandContext wc ? wc.caster : null;
+        boolean drop = caster == null || !caster.isCreative();
 
-        return CastResult.FAILED;
-    }
+        SpellJobQueue.get(level).submit(new SpellJobQueue.Job(c, c.plan(this).positions(), values.get().auraCostPerBlock()) {
+            @Override
+            protected boolean apply(BlockMutationBatch batch, BlockPos pos) {
+                if (!canBreak(level, pos))
+                    return false;
+                batch.destroy(pos, drop, caster, this::reject);
+                return true;
+            }
+        });
 
-    private static boolean canBreak(Level level, BlockPos pos) {
-        return level.getBlockState(pos).getDestroySpeed(level, pos) >= 0;
+        return CastResult.SUCCESS;
     }
 
-    private static boolean tryBreak(Level level, BlockPos pos, boolean drop) {
-        if (canBreak(level, pos)) {
-            level.destroyBlock(pos, drop);
-            return true;
-        }
-        return false;
+    private static boolean canBreak(Level level, BlockPos pos) {
+        BlockState state = level.getBlockState(pos);
+        return !state.isAir() && state.getDestroySpeed(level, pos) >= 0;
     }
 
     private static int getRadius(int level) {
+        Values v = values.get();
         return switch (level) {
-            case 1 -> config.get("radiusAtLevel1");
-            case 2 -> config.get("radiusAtLevel2");
-            default -> config.get("radiusAtLevel3");
+            case 1 -> v.radiusAtLevel1();
+            case 2 -> v.radiusAtLevel2();
+            default -> v.radiusAtLevel3();
         };
     }
+
+    private record Values(int auraCostPerBlock, int radiusAtLevel1, int radiusAtLevel2, int radiusAtLevel3) {
+        Values(SpellConfig config) {
+            this(config.get("auraCostPerBlock"), config.get("radiusAtLevel1"), config.get("radiusAtLevel2"), config.get("radiusAtLevel3"));
+        }
+    }
 }
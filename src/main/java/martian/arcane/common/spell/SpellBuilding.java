@@ -2,18 +2,20 @@ package martian.arcane.common.spell;
 
 import martian.arcane.ArcaneMod;
 import martian.arcane.api.block.AOEHelpers;
+import martian.arcane.api.block.BlockMutationBatch;
 import martian.arcane.api.spell.*;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.item.BlockItem;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.BlockHitResult;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 public class SpellBuilding extends AbstractSpell {
     private static final SpellConfig config = new SpellConfig(ArcaneMod.id("building"))
@@ -26,6 +28,8 @@ public class SpellBuilding extends AbstractSpell {
             .set("defaultBlock", "arcane:conjured_block")
             .build();
 
+    private static final SpellConfig.Compiled<Values> values = config.compile(Values::new);
+
     @Override
     protected SpellConfig getConfig() {
         return config;
@@ -33,107 +37,97 @@ public class SpellBuilding extends AbstractSpell {
 
     @Override
     public int getAuraCost(CastContext c) {
-        if (c.target.type() == CastTarget.Type.BLOCK) {
-            BlockPos target = ((BlockPos) c.target.value());
-            AtomicInteger cost = new AtomicInteger(0);
-
-            if (c instanceof CastContext.WandContext wc) {
-                if (wc.raycast() instanceof BlockHitResult bHit) {
-                    target = bHit.getBlockPos().relative(bHit.getDirection());
-                    if (c.source.getCastLevel(wc) == 1 || wc.caster.isCrouching()) {
-                        if (canPlace(c.level, target))
-                            cost.getAndAdd(config.get("auraCostPerBlock"));
-                    } else {
-                        AOEHelpers.streamAOE(target, bHit.getDirection(), getRadius(c.source.getCastLevel(wc))).forEach(pos -> {
-                            if (c.aura.getAura() - cost.get() <= 0)
-                                return;
-
-                            if (canPlace(c.level, pos))
-                                cost.getAndAdd(config.get("auraCostPerBlock"));
-                        });
-                    }
-                } else {
-                    return 0;
-                }
-            } else if (canPlace(c.level, target)) {
-                cost.getAndAdd(config.get("auraCostPerBlock"));
-            }
+        return c.plan(this).cost();
+    }
+
+    @Override
+    public CastPlan plan(CastContext c) {
+        if (c.target.type() != CastTarget.Type.BLOCK)
+            return CastPlan.EMPTY;
 
-            return cost.get();
+        int costPerBlock = values.get().auraCostPerBlock();
+
+        if (c instanceof CastContext.WandContext wc && wc.hit instanceof BlockHitResult bHit) {
+            BlockPos target = bHit.getBlockPos().relative(bHit.getDirection());
+            int castLevel = c.source.getCastLevel(wc);
+            Stream<BlockPos> area = castLevel == 1 || wc.caster.isCrouching() ?
+                    Stream.of(target) :
+                    AOEHelpers.streamAOE(target, bHit.getDirection(), getRadius(castLevel));
+
+            // Can't place more blocks than the player is holding
+            ItemStack blockStack = getBlockStack(wc);
+            int maxBlocks = blockStack.isEmpty() || wc.caster.isCreative() ? Integer.MAX_VALUE : blockStack.getCount();
+
+            return CastPlan.ofArea(bHit, area, pos -> canPlace(c.level, pos), costPerBlock, c.aura.getAura(), maxBlocks);
         }
 
-        return 0;
+        return CastPlan.ofArea(null, Stream.of((BlockPos) c.target.value()), pos -> canPlace(c.level, pos), costPerBlock, Integer.MAX_VALUE, 1);
     }
 
     @Override
     public CastResult cast(CastContext c) {
-        if (c.level.isClientSide)
+        if (!(c.level instanceof ServerLevel level))
             return CastResult.SUCCESS;
 
-        if (c.target.type() == CastTarget.Type.BLOCK) {
-            AtomicInteger cost = new AtomicInteger(0);
-            BlockPos target = ((BlockPos) c.target.value());
-            BlockState toPlace = BuiltInRegistries.BLOCK.get(ResourceLocation.of(config.get("defaultBlock"), ':')).defaultBlockState();
-
-            if (c instanceof CastContext.WandContext wc) {
-                ItemStack offStack = wc.caster.getMainHandItem() == wc.castingStack
-                        ? wc.caster.getOffhandItem()
-                        : wc.caster.getMainHandItem();
-                AtomicBoolean usingOffStack = new AtomicBoolean(false);
-
-                if (!offStack.isEmpty() && offStack.getItem() instanceof BlockItem bi) {
-                    toPlace = bi.getBlock().defaultBlockState();
-                    usingOffStack.set(true);
+        if (c.target.type() != CastTarget.Type.BLOCK)
+            return CastResult.FAILED;
+
+        BlockState defaultBlock = BuiltInRegistries.BLOCK.get(values.get().defaultBlock()).defaultBlockState();
+        ItemStack blockStack = c instanceof CastContext.WandContext wc ? getBlockStack(wc) : ItemStack.EMPTY;
+        BlockState toPlace = blockStack.isEmpty() ? defaultBlock : ((BlockItem) blockStack.getItem()).getBlock().defaultBlockState();
+        boolean consume = !blockStack.isEmpty() && !((CastContext.WandContext) c).caster.isCreative();
+        Item blockItem = blockStack.getItem();
+
+        SpellJobQueue.get(level).submit(new SpellJobQueue.Job(c, c.plan(this).positions(), values.get().auraCostPerBlock()) {
+            @Override
+            protected boolean apply(BlockMutationBatch batch, BlockPos pos) {
+                if (!canPlace(level, pos))
+                    return false;
+
+                // The held blocks might have been used up or moved since the cast
+                if (consume) {
+                    if (!blockStack.is(blockItem))
+                        return false;
+                    blockStack.shrink(1);
                 }
 
-                if (wc.raycast() instanceof BlockHitResult bHit) {
-                    target = bHit.getBlockPos().relative(bHit.getDirection());
-                    if (c.source.getCastLevel(wc) == 1 || wc.caster.isCrouching()) {
-                        if (tryPlace(c.level, target, toPlace))
-                            cost.getAndAdd(config.get("auraCostPerBlock"));
-                    } else {
-                        BlockState finalToPlace = toPlace;
-                        AOEHelpers.streamAOE(target, bHit.getDirection(), getRadius(c.source.getCastLevel(wc))).forEach(pos -> {
-                            if (c.aura.getAura() - cost.get() <= 0 || (usingOffStack.get() && offStack.isEmpty()))
-                                return;
-
-                            if (tryPlace(c.level, pos, finalToPlace)) {
-                                cost.getAndAdd(config.get("auraCostPerBlock"));
-                                if (usingOffStack.get() && !wc.caster.isCreative())
-                                    offStack.shrink(1);
-                            }
-                        });
-                    }
-                } else {
-                    return CastResult.FAILED;
-                }
-            } else {
-                tryPlace(c.level, target, toPlace);
+                batch.set(pos, toPlace, () -> {
+                    reject();
+                    if (consume)
+                        blockStack.grow(1);
+                });
+                return true;
             }
+        });
 
-            return CastResult.SUCCESS;
-        }
+        return CastResult.SUCCESS;
+    }
 
-        return CastResult.FAILED;
+    // The block item in the hand that isn't holding the wand, if there is one
+    private static ItemStack getBlockStack(CastContext.WandContext wc) {
+        ItemStack offStack = wc.caster.getMainHandItem() == wc.castingStack
+                ? wc.caster.getOffhandItem()
+                : wc.caster.getMainHandItem();
+        return offStack.getItem() instanceof BlockItem ? offStack : ItemStack.EMPTY;
     }
 
     private static boolean canPlace(Level level, BlockPos pos) {
         return level.getBlockState(pos).canBeReplaced();
     }
 
-    private static boolean tryPlace(Level level, BlockPos pos, BlockState toPlace) {
-        if (canPlace(level, pos)) {
-            level.setBlockAndUpdate(pos, toPlace);
-            return true;
-        }
-        return false;
-    }
-
     private static int getRadius(int level) {
+        Values v = values.get();
         return switch (level) {
-            case 1 -> config.get("radiusAtLevel1");
-            case 2 -> config.get("radiusAtLevel2");
-            default -> config.get("radiusAtLevel3");
+            case 1 -> v.radiusAtLevel1();
+            case 2 -> v.radiusAtLevel2();
+            default -> v.radiusAtLevel3();
         };
     }
+
+    private record Values(int auraCostPerBlock, int radiusAtLevel1, int radiusAtLevel2, int radiusAtLevel3, ResourceLocation defaultBlock) {
+        Values(SpellConfig config) {
+            this(config.get("auraCostPerBlock"), config.get("radiusAtLevel1"), config.get("radiusAtLevel2"), config.get("radiusAtLevel3"),
+                    ResourceLocation.of(config.get("defaultBlock"), ':'));
+        }
+    }
 }
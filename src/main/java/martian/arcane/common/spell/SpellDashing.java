@@ -15,6 +15,8 @@ public class SpellDashing extends AbstractSpell {
             .set("multiplierAtLevel3", 3d)
             .build();
 
+    private static final SpellConfig.Compiled<Values> values = config.compile(Values::new);
+
     @Override
     protected SpellConfig getConfig() {
         return config;
@@ -35,10 +37,17 @@ public class SpellDashing extends AbstractSpell {
     }
 
     public static double getMultiplier(CastContext context) {
+        Values v = values.get();
         return switch (context.source.getCastLevel(context)) {
-            case 1 -> config.get("multiplierAtLevel1");
-            case 2 -> config.get("multiplierAtLevel2");
-            default -> config.get("multiplierAtLevel3");
+            case 1 -> v.multiplierAtLevel1();
+            case 2 -> v.multiplierAtLevel2();
+            default -> v.multiplierAtLevel3();
         };
     }
+
+    private record Values(double multiplierAtLevel1, double multiplierAtLevel2, double multiplierAtLevel3) {
+        Values(SpellConfig config) {
+            this(config.get("multiplierAtLevel1"), config.get("multiplierAtLevel2"), config.get("multiplierAtLevel3"));
+        }
+    }
 }
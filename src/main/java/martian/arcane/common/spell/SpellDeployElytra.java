@@ -14,6 +14,8 @@ public class SpellDeployElytra extends AbstractSpell {
             .set("requireEquippedElytra", false)
             .build();
 
+    private static final SpellConfig.Compiled<Boolean> requireEquippedElytra = config.compile(it -> it.get("requireEquippedElytra"));
+
     @Override
     protected SpellConfig getConfig() {
         return config;
@@ -27,7 +29,7 @@ public class SpellDeployElytra extends AbstractSpell {
     @Override
     public CastResult cast(CastContext c) {
         CastContext.WandContext wc = ((CastContext.WandContext) c);
-        if (config.<Boolean>get("requireEquippedElytra") && !wc.caster.getInventory().armor.get(EquipmentSlot.CHEST.getIndex()).canElytraFly(wc.caster)) {
+        if (requireEquippedElytra.get() && !wc.caster.getInventory().armor.get(EquipmentSlot.CHEST.getIndex()).canElytraFly(wc.caster)) {
             return CastResult.FAILED;
         }
 
@@ -15,6 +15,8 @@ public class SpellEnlarging extends AbstractSpell {
             .set("maxScale", 2d)
             .build();
 
+    private static final SpellConfig.Compiled<Values> values = config.compile(Values::new);
+
     @Override
     protected SpellConfig getConfig() {
         return config;
@@ -30,11 +32,18 @@ public class SpellEnlarging extends AbstractSpell {
         CastContext.WandContext wc = ((CastContext.WandContext) c);
 
         final ScaleData data = ScaleTypes.BASE.getScaleData(wc.caster);
-        if (data.getTargetScale() < ((double) config.get("maxScale"))) {
-            data.setTargetScale((float) (data.getTargetScale() + ((double) config.get("enlargementFactor"))));
+        Values v = values.get();
+        if (data.getTargetScale() < v.maxScale()) {
+            data.setTargetScale((float) (data.getTargetScale() + v.enlargementFactor()));
             return CastResult.SUCCESS;
         } else {
             return CastResult.FAILED;
         }
     }
+
+    private record Values(double enlargementFactor, double maxScale) {
+        Values(SpellConfig config) {
+            this(config.get("enlargementFactor"), config.get("maxScale"));
+        }
+    }
 }
@@ -34,9 +34,9 @@ public class SpellMixing extends AbstractSpell {
                 NonNullList<ItemEntity> items = NonNullList.create();
                 items.addAll(c.level.getEntitiesOfClass(ItemEntity.class, new AABB(target)));
                 ItemEntityContainer container = new ItemEntityContainer(items);
-                var recipe = RecipeCauldronMixing.getRecipeFor(c.level, container, state);
-                recipe.ifPresent(it -> it.value().assemble(container, c.level, target));
-                return recipe.isPresent() ? CastResult.SUCCESS : CastResult.FAILED;
+                var match = RecipeCauldronMixing.findMatch(c.level, container, state);
+                match.ifPresent(it -> it.assemble(c.level, target));
+                return match.isPresent() ? CastResult.SUCCESS : CastResult.FAILED;
             }
         }
 
@@ -15,6 +15,8 @@ public class SpellShrinking extends AbstractSpell {
             .set("minScale", 0.5d)
             .build();
 
+    private static final SpellConfig.Compiled<Values> values = config.compile(Values::new);
+
     @Override
     protected SpellConfig getConfig() {
         return config;
@@ -30,11 +32,18 @@ public class SpellShrinking extends AbstractSpell {
         CastContext.WandContext wc = ((CastContext.WandContext) c);
 
         final ScaleData data = ScaleTypes.BASE.getScaleData(wc.caster);
-        if (data.getTargetScale() > ((double) config.get("minScale"))) {
-            data.setTargetScale((float) (data.getTargetScale() - ((double) config.get("shrinkFactor"))));
+        Values v = values.get();
+        if (data.getTargetScale() > v.minScale()) {
+            data.setTargetScale((float) (data.getTargetScale() - v.shrinkFactor()));
             return CastResult.SUCCESS;
         } else {
             return CastResult.FAILED;
         }
     }
+
+    private record Values(double shrinkFactor, double minScale) {
+        Values(SpellConfig config) {
+            this(config.get("shrinkFactor"), config.get("minScale"));
+        }
+    }
 }
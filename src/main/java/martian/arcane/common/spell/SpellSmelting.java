@@ -1,64 +1,150 @@
 package martian.arcane.common.spell;
 
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import martian.arcane.ArcaneMod;
 import martian.arcane.api.item.ItemHelpers;
+import martian.arcane.api.recipe.RecipeIndexes;
 import martian.arcane.api.recipe.SingleItemContainer;
-import martian.arcane.api.recipe.SingleItemEntityContainer;
 import martian.arcane.api.spell.*;
 import martian.arcane.common.block.pedestal.BlockEntityPedestal;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.BlockItem;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 
-public class SpellSmelting extends AbstractSpell {
+import java.util.List;
+import java.util.Map;
+
+public class SpellSmelting extends AbstractSpell implements IAreaCraftingSpell {
     private static final SpellConfig config = SpellConfig
             .basicConfig(ArcaneMod.id("smelting"), 8, 20, 2)
             .build();
 
+    // Smelting results by input item, filled in lazily and cleared after every reload. Items which can't be smelted are
+    // stored as an empty stack so they aren't looked up again either.
+    private static final Map<Item, ItemStack> RESULTS = new Reference2ObjectOpenHashMap<>();
+    private static int resultsVersion = -1;
+
     @Override
     protected SpellConfig getConfig() {
         return config;
     }
 
+    @Override
+    public CastPlan plan(CastContext c) {
+        if (IAreaCraftingSpell.isAreaCast(c))
+            return planArea((CastContext.SpellCircleContext) c, getAuraCost(c));
+        return super.plan(c);
+    }
+
     @Override
     public CastResult cast(CastContext c) {
         if (c.level.isClientSide)
             return CastResult.SUCCESS;
 
+        if (IAreaCraftingSpell.isAreaCast(c))
+            return castArea((CastContext.SpellCircleContext) c, c.plan(this));
+
         if (c.target.type() == CastTarget.Type.BLOCK) {
             BlockPos pos = ((BlockPos) c.target.value());
-            BlockState state = c.level.getBlockState(pos);
             if (c.level.getBlockEntity(pos) instanceof BlockEntityPedestal pedestal) {
-                var container = new SingleItemContainer(pedestal.getItem());
-                var recipe = c.level.getRecipeManager().getRecipeFor(RecipeType.SMELTING, container, c.level);
-                recipe.ifPresent(it -> pedestal.setItem(it.value().assemble(container, c.level.registryAccess())));
-                return recipe.isPresent() ? CastResult.SUCCESS : CastResult.FAILED;
+                ItemStack result = getResult(c.level, pedestal.getItem());
+                if (result.isEmpty())
+                    return CastResult.FAILED;
+
+                pedestal.setItem(result.copy());
+                return CastResult.SUCCESS;
             } else {
-                var container = new SingleItemContainer(state.getBlock().asItem().getDefaultInstance());
-                var recipe = c.level.getRecipeManager().getRecipeFor(RecipeType.SMELTING, container, c.level);
-                recipe.ifPresent(it -> {
-                    var result = it.value().assemble(container, c.level.registryAccess());
-                    if (result.getItem() instanceof BlockItem bi) {
-                        c.level.setBlockAndUpdate(pos, bi.getBlock().defaultBlockState());
-                    } else {
-                        c.level.setBlockAndUpdate(pos, Blocks.AIR.defaultBlockState());
-                        ItemHelpers.addItemEntity(c.level, result, pos);
-                    }
-                });
-                return recipe.isPresent() ? CastResult.SUCCESS : CastResult.FAILED;
+                BlockState state = c.level.getBlockState(pos);
+                ItemStack result = getResult(c.level, state.getBlock().asItem());
+                if (result.isEmpty())
+                    return CastResult.FAILED;
+
+                if (result.getItem() instanceof BlockItem bi) {
+                    c.level.setBlockAndUpdate(pos, bi.getBlock().defaultBlockState());
+                } else {
+                    c.level.setBlockAndUpdate(pos, Blocks.AIR.defaultBlockState());
+                    ItemHelpers.addItemEntity(c.level, result.copy(), pos);
+                }
+                return CastResult.SUCCESS;
             }
         } else if (c.target.type() == CastTarget.Type.ENTITY) {
             if (c.target.value() instanceof ItemEntity ie) {
-                var container = new SingleItemEntityContainer(ie);
-                var recipe = c.level.getRecipeManager().getRecipeFor(RecipeType.SMELTING, container, c.level);
-                recipe.ifPresent(it -> it.value().assemble(container, c.level.registryAccess()));
-                return recipe.isPresent() ? CastResult.SUCCESS : CastResult.FAILED;
+                ItemStack stack = ie.getItem();
+                ItemStack result = getResult(c.level, stack);
+                if (result.isEmpty())
+                    return CastResult.FAILED;
+
+                // The whole stack is smelted at once, anything over one stack of the result is dropped alongside it
+                int count = result.getCount() * stack.getCount();
+                int maxStackSize = result.getMaxStackSize();
+                ie.setItem(result.copyWithCount(Math.min(count, maxStackSize)));
+                for (count -= maxStackSize; count > 0; count -= maxStackSize)
+                    ItemHelpers.addItemEntity(c.level, result.copyWithCount(Math.min(count, maxStackSize)), ie.getX(), ie.getY(), ie.getZ());
+                return CastResult.SUCCESS;
             }
         }
 
         return CastResult.FAILED;
     }
+
+    @Override
+    public boolean canCraft(Level level, ItemStack stack) {
+        return !getResult(level, stack).isEmpty();
+    }
+
+    @Override
+    public int craftPedestals(Level level, List<BlockEntityPedestal> pedestals, int maxCrafts) {
+        int crafted = 0;
+        for (var group : IAreaCraftingSpell.groupByStack(pedestals).entrySet()) {
+            ItemStack result = getResult(level, group.getKey());
+            if (result.isEmpty())
+                continue;
+
+            for (BlockEntityPedestal pedestal : group.getValue()) {
+                if (crafted >= maxCrafts)
+                    return crafted;
+                pedestal.setItem(result.copy());
+                crafted++;
+            }
+        }
+        return crafted;
+    }
+
+    /**
+     * @return The result of smelting one of the given stack, or an empty stack if it can't be smelted. The returned
+     *         stack is shared and must be copied before use.
+     */
+    public static ItemStack getResult(Level level, ItemStack stack) {
+        // Stacks with components could match a component-sensitive ingredient, so only plain items are cached
+        if (!stack.isComponentsPatchEmpty())
+            return lookupResult(level, stack);
+        return getResult(level, stack.getItem());
+    }
+
+    public static ItemStack getResult(Level level, Item item) {
+        int version = RecipeIndexes.getVersion(level.getRecipeManager());
+        if (resultsVersion != version) {
+            RESULTS.clear();
+            resultsVersion = version;
+        }
+
+        return RESULTS.computeIfAbsent(item, it -> lookupResult(level, new ItemStack(it)));
+    }
+
+    private static ItemStack lookupResult(Level level, ItemStack stack) {
+        if (stack.isEmpty())
+            return ItemStack.EMPTY;
+
+        var container = new SingleItemContainer(stack);
+        return level.getRecipeManager()
+                .getRecipeFor(RecipeType.SMELTING, container, level)
+                .map(it -> it.value().assemble(container, level.registryAccess()))
+                .orElse(ItemStack.EMPTY);
+    }
 }
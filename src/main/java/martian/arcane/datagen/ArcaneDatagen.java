@@ -6,6 +6,7 @@ import martian.arcane.datagen.client.ArcaneBlockStateProvider;
 import martian.arcane.datagen.client.ArcaneItemModelProvider;
 import martian.arcane.datagen.client.ArcaneLanguageEnUsProvider;
 import martian.arcane.datagen.server.ArcaneBlockTagProvider;
+import martian.arcane.datagen.server.ArcaneDataMapProvider;
 import martian.arcane.datagen.server.ArcaneItemTagProvider;
 import martian.arcane.datagen.server.ArcaneLootTableProvider;
 import martian.arcane.datagen.server.ArcaneRecipeProvider;
@@ -36,6 +37,7 @@ public class ArcaneDatagen {
             BlockTagsProvider blockTags = gen.addProvider(true, new ArcaneBlockTagProvider(packOutput, lookupProvider, efh));
             gen.addProvider(true, new ArcaneItemTagProvider(packOutput, lookupProvider, blockTags.contentsGetter(), efh));
             gen.addProvider(true, new ArcaneLootTableProvider(packOutput, lookupProvider));
+            gen.addProvider(true, new ArcaneDataMapProvider(packOutput, lookupProvider));
             gen.addProvider(true, new ArcaneBookProvider(packOutput, lookupProvider, langEnUS));
         }
 
@@ -138,6 +138,7 @@ public class ArcaneLanguageEnUsProvider extends AbstractModonomiconLanguageProvi
         add("messages.arcane.spell_min_level", "Required Wand Level: ");
         add("messages.arcane.push_rate", "Push Rate: ");
         add("messages.arcane.cast_timer", "Cast Timer: ");
+        add("messages.arcane.area_radius", "Area Radius: ");
         add("messages.arcane.selection", "Selection: ");
         add("messages.arcane.not_linked", "Not linked");
         add("messages.arcane.mode_crafting", "Crafting");
@@ -0,0 +1,40 @@
+package martian.arcane.datagen.server;
+
+import martian.arcane.common.block.generators.heat.IgnisSource;
+import net.minecraft.advancements.critereon.StatePropertiesPredicate;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.data.PackOutput;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.properties.BlockStateProperties;
+import net.neoforged.neoforge.common.data.DataMapProvider;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static martian.arcane.common.ArcaneContent.*;
+
+public class ArcaneDataMapProvider extends DataMapProvider {
+    public ArcaneDataMapProvider(PackOutput packOutput, CompletableFuture<HolderLookup.Provider> lookupProvider) {
+        super(packOutput, lookupProvider);
+    }
+
+    @Override
+    protected void gather() {
+        builder(DM_IGNIS_SOURCES)
+                .add(BuiltInRegistries.BLOCK.wrapAsHolder(Blocks.FIRE), new IgnisSource(1), false)
+                .add(BuiltInRegistries.BLOCK.wrapAsHolder(Blocks.CAMPFIRE), new IgnisSource(1, lit()), false)
+                .add(BuiltInRegistries.BLOCK.wrapAsHolder(Blocks.LAVA_CAULDRON), new IgnisSource(1), false)
+                .add(BuiltInRegistries.BLOCK.wrapAsHolder(Blocks.MAGMA_BLOCK), new IgnisSource(1), false)
+                .add(BuiltInRegistries.BLOCK.wrapAsHolder(Blocks.FURNACE), new IgnisSource(1, lit()), false)
+                .add(BuiltInRegistries.BLOCK.wrapAsHolder(Blocks.BLAST_FURNACE), new IgnisSource(2, lit()), false)
+                .add(BuiltInRegistries.BLOCK.wrapAsHolder(Blocks.SOUL_FIRE), new IgnisSource(2), false)
+                .add(BuiltInRegistries.BLOCK.wrapAsHolder(Blocks.SOUL_CAMPFIRE), new IgnisSource(2, lit()), false)
+                .add(BuiltInRegistries.BLOCK.wrapAsHolder(Blocks.LAVA), new IgnisSource(2), false)
+                .add(BLOCK_SOUL_MAGMA, new IgnisSource(3), false);
+    }
+
+    private static Optional<StatePropertiesPredicate> lit() {
+        return StatePropertiesPredicate.Builder.properties().hasProperty(BlockStateProperties.LIT, true).build();
+    }
+}
@@ -0,0 +1,21 @@
+package martian.arcane.mixin;
+
+import martian.arcane.common.block.connector.AuraNetworkManager;
+import martian.arcane.common.block.generators.water.BlockEntityAquaCollector;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerLevel.class)
+public class ServerLevelMixin {
+    @Inject(method = "onBlockStateChange", at = @At("HEAD"))
+    private void arcane$onBlockStateChange(BlockPos pos, BlockState oldState, BlockState newState, CallbackInfo ci) {
+        ServerLevel level = (ServerLevel) (Object) this;
+        AuraNetworkManager.onBlockStateChange(level, pos, newState);
+        BlockEntityAquaCollector.onBlockStateChange(level, pos, oldState, newState);
+    }
+}